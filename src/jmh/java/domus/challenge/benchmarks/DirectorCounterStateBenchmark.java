@@ -0,0 +1,92 @@
+package domus.challenge.benchmarks;
+
+import domus.challenge.domain.DirectorCounterState;
+import domus.challenge.domain.Movie;
+import domus.challenge.domain.StringIntCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counting a whole catalog and answering one threshold: boxed {@code HashMap} baseline against the
+ * primitive counter, with and without dictionary-encoded director ids.
+ * Run with {@code -prof gc} to get the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@State(Scope.Benchmark)
+public class DirectorCounterStateBenchmark {
+
+    private static final int THRESHOLD = 4;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int movies;
+
+    private Movie[] catalog;
+    private String[] dictionary;
+    private int[] directorIds;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        catalog = MovieCatalog.movies(movies, Math.max(100, movies / 20));
+
+        // Ids are dense and assigned in first-seen order: keep that order to rebuild the same dictionary
+        StringIntCounter encoder = new StringIntCounter();
+        directorIds = new int[catalog.length];
+        for (int i = 0; i < catalog.length; i++) {
+            directorIds[i] = encoder.intern(catalog[i].getDirector());
+        }
+        dictionary = new String[encoder.size()];
+        for (int id = 0; id < dictionary.length; id++) {
+            dictionary[id] = encoder.keyAt(id);
+        }
+    }
+
+    @Benchmark
+    public void hashMapBaseline(Blackhole bh) {
+        HashMapDirectorCounterState state = new HashMapDirectorCounterState();
+        for (Movie movie : catalog) {
+            state.add(movie);
+        }
+        bh.consume(state.above(THRESHOLD));
+        bh.consume(state.snapshot());
+    }
+
+    @Benchmark
+    public void primitiveCounter(Blackhole bh) {
+        DirectorCounterState state = new DirectorCounterState();
+        for (Movie movie : catalog) {
+            state.add(movie);
+        }
+        bh.consume(state.above(THRESHOLD));
+        bh.consume(state.snapshot());
+    }
+
+    @Benchmark
+    public void primitiveCounterWithIds(Blackhole bh) {
+        DirectorCounterState state = new DirectorCounterState();
+        for (String director : dictionary) {
+            state.directorId(director);
+        }
+        for (int id : directorIds) {
+            state.add(id);
+        }
+        bh.consume(state.above(THRESHOLD));
+        bh.consume(state.snapshot());
+    }
+}
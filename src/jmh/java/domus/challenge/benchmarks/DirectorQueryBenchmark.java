@@ -0,0 +1,72 @@
+package domus.challenge.benchmarks;
+
+import domus.challenge.domain.DirectorCounterState;
+import domus.challenge.domain.DirectorSnapshot;
+import domus.challenge.domain.Movie;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of {@code DirectorCounterState.add/above} and of the snapshot's indexed {@code above}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DirectorQueryBenchmark {
+
+    @Param({"1000", "100000"})
+    public int distinctDirectors;
+
+    @Param({"4"})
+    public int threshold;
+
+    private Movie[] catalog;
+    private DirectorCounterState state;
+    private DirectorSnapshot snapshot;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        catalog = MovieCatalog.movies(distinctDirectors * 10, distinctDirectors);
+        state = new DirectorCounterState();
+        for (Movie movie : catalog) {
+            state.add(movie);
+        }
+        snapshot = DirectorSnapshot.from(state, Instant.now());
+    }
+
+    @Benchmark
+    public void stateAdd() {
+        state.add(catalog[next]);
+        if (++next == catalog.length) {
+            next = 0;
+        }
+    }
+
+    @Benchmark
+    public List<String> stateAbove() {
+        return state.above(threshold);
+    }
+
+    @Benchmark
+    public List<String> snapshotAbove() {
+        return snapshot.above(threshold);
+    }
+}
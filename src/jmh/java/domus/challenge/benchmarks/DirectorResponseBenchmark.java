@@ -0,0 +1,61 @@
+package domus.challenge.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.mappers.DirectorMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building and serializing the {@code /api/directors} answer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DirectorResponseBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int directors;
+
+    private final DirectorMapper mapper = new DirectorMapper() { };
+    private ObjectMapper objectMapper;
+    private List<String> names;
+    private DirectorsResponseDto response;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        names = Arrays.asList(MovieCatalog.directorPool(directors));
+        response = mapper.toResponse(names, Instant.now());
+    }
+
+    @Benchmark
+    public DirectorsResponseDto mapperToResponse() {
+        return mapper.toResponse(names, Instant.EPOCH);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,32 @@
+package domus.challenge.benchmarks;
+
+import domus.challenge.domain.Movie;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boxed {@code HashMap} counter kept as the baseline DirectorCounterState is compared against.
+ */
+final class HashMapDirectorCounterState {
+
+    private final Map<String, Integer> counts = new HashMap<>();
+
+    void add(Movie movie) {
+        if (movie == null || movie.getDirector() == null) return;
+        counts.merge(movie.getDirector(), 1, Integer::sum);
+    }
+
+    List<String> above(int threshold) {
+        return counts.entrySet().stream()
+                .filter(e -> e.getValue() > threshold)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    Map<String, Integer> snapshot() {
+        return Map.copyOf(counts);
+    }
+}
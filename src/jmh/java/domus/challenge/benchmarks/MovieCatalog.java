@@ -0,0 +1,48 @@
+package domus.challenge.benchmarks;
+
+import domus.challenge.domain.Movie;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalog shared by the benchmarks: a pool of directors with a skewed
+ * (roughly Zipf) number of movies each, so a few directors dominate like in the real catalog.
+ */
+final class MovieCatalog {
+
+    private static final long SEED = 42L;
+
+    private MovieCatalog() {
+    }
+
+    static String[] directorPool(int distinct) {
+        String[] pool = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            pool[i] = "Director " + i;
+        }
+        return pool;
+    }
+
+    /**
+     * Movies reference one pooled {@link Movie} per director, so 10M movies stay cheap to hold in memory.
+     */
+    static Movie[] movies(int count, int distinctDirectors) {
+        String[] pool = directorPool(distinctDirectors);
+        Movie[] perDirector = new Movie[distinctDirectors];
+        for (int i = 0; i < distinctDirectors; i++) {
+            perDirector[i] = Movie.builder().director(pool[i]).build();
+        }
+
+        SplittableRandom random = new SplittableRandom(SEED);
+        Movie[] movies = new Movie[count];
+        for (int i = 0; i < count; i++) {
+            movies[i] = perDirector[skewedIndex(random, distinctDirectors)];
+        }
+        return movies;
+    }
+
+    private static int skewedIndex(SplittableRandom random, int bound) {
+        double u = random.nextDouble();
+        return (int) Math.min(bound - 1, Math.floor(bound * u * u * u));
+    }
+}
@@ -0,0 +1,62 @@
+package domus.challenge.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import domus.challenge.dto.MoviePageResponseDto;
+import domus.challenge.repository.MoviePageProjectionDecoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one upstream page: full {@link MoviePageResponseDto} binding (what WebClient's Jackson
+ * decoder does) against the streaming projection decoder keeping only {@code Director}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoviePageDecodingBenchmark {
+
+    private static final Set<String> DIRECTOR_ONLY = Set.of("Director");
+
+    @Param({"10", "100", "1000"})
+    public int perPage;
+
+    private byte[] body;
+    private ObjectMapper objectMapper;
+    private MoviePageProjectionDecoder projectionDecoder;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        body = MoviePages.page(3, perPage, 50);
+        // Same modules as the application's ObjectMapper (parameter names bind the @Value DTOs)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        projectionDecoder = new MoviePageProjectionDecoder();
+    }
+
+    @Benchmark
+    public MoviePageResponseDto fullBinding() throws IOException {
+        return objectMapper.readValue(body, MoviePageResponseDto.class);
+    }
+
+    @Benchmark
+    public MoviePageResponseDto directorProjection() throws IOException {
+        return projectionDecoder.decode(body, DIRECTOR_ONLY);
+    }
+}
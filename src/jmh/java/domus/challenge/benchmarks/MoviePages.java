@@ -0,0 +1,43 @@
+package domus.challenge.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Synthetic upstream page bodies shaped like the real {@code /search?page=} responses.
+ */
+final class MoviePages {
+
+    // Only ratings MovieRating knows, so full binding does not fail the page
+    private static final String[] RATINGS = {"G", "PG", "PG-13", "R", "NC-17", "Not Rated"};
+
+    private MoviePages() {
+    }
+
+    static byte[] page(int page, int perPage, int totalPages) {
+        StringBuilder json = new StringBuilder(perPage * 320 + 128);
+        json.append("{\"page\":").append(page)
+                .append(",\"per_page\":").append(perPage)
+                .append(",\"total\":").append(perPage * totalPages)
+                .append(",\"total_pages\":").append(totalPages)
+                .append(",\"data\":[");
+
+        for (int i = 0; i < perPage; i++) {
+            int n = page * perPage + i;
+            if (i > 0) json.append(',');
+            json.append("{\"Title\":\"Movie ").append(n).append(" - The Sequel\"")
+                    .append(",\"Year\":\"").append(1970 + n % 50).append('"')
+                    .append(",\"Rated\":\"").append(RATINGS[n % RATINGS.length]).append('"')
+                    .append(",\"Released\":\"").append(1 + n % 28).append(" Jun ").append(1970 + n % 50).append('"')
+                    .append(",\"Runtime\":\"").append(80 + n % 90).append(" min\"")
+                    .append(",\"Genre\":\"Action, Adventure, Sci-Fi\"")
+                    .append(",\"Director\":\"Director ").append(n % 97).append('"')
+                    .append(",\"Writer\":\"Writer ").append(n % 53).append(", Writer ").append(n % 31).append('"')
+                    .append(",\"Actors\":\"Actor ").append(n % 211).append(", Actor ").append(n % 173)
+                    .append(", Actor ").append(n % 89).append('"')
+                    .append('}');
+        }
+
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package domus.challenge.benchmarks;
+
+import domus.challenge.domain.MovieRating;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MovieRating#tryParse} over the spellings the upstream sends, once per movie decoded.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MovieRatingBenchmark {
+
+    private final String[] values = {"G", "PG", "PG-13", "R", "NC-17", "Not Rated", "NOT_RATED", "pg-13"};
+
+    @Benchmark
+    public void tryParse(Blackhole bh) {
+        for (String value : values) {
+            bh.consume(MovieRating.tryParse(value));
+        }
+    }
+
+    @Benchmark
+    public void tryParseUnknown(Blackhole bh) {
+        bh.consume(MovieRating.tryParse("TV-MA"));
+    }
+}
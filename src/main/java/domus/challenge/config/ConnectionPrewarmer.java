@@ -0,0 +1,57 @@
+package domus.challenge.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+
+/**
+ * Opens {@code movie.api.prewarm-connections} pooled connections to the movie API, so the first crawl
+ * does not pay DNS, TCP and TLS setup for its whole fan-out at once. The snapshot scheduler runs it once
+ * the application is ready and starts the first crawl after it completes.
+ * Uses HEAD requests on the base URL; the response status does not matter, only that the connection
+ * lands in the pool. Failures are logged and otherwise ignored.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ConnectionPrewarmer {
+
+    private final HttpClient movieHttpClient;
+    private final MovieApiConfig movieApiConfig;
+
+    /**
+     * Completes once the connections are open or have failed; never errors.
+     */
+    public Mono<Void> warmup() {
+        int connections = movieApiConfig.getPrewarmConnections();
+        if (connections <= 0) {
+            return Mono.empty();
+        }
+
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return movieHttpClient.warmup()
+                    .thenMany(Flux.range(0, connections)
+                            .flatMap(i -> movieHttpClient.head()
+                                    .uri(movieApiConfig.getBaseUrl())
+                                    .response()
+                                    .onErrorResume(e -> {
+                                        log.debug("Connection prewarm request failed: {}", e.getMessage());
+                                        return Mono.empty();
+                                    }), connections))
+                    .count()
+                    .doOnNext(warmed -> log.info("Prewarmed {}/{} movie API connections in {} ms", warmed,
+                            connections, Duration.ofNanos(System.nanoTime() - start).toMillis()))
+                    .then()
+                    .onErrorResume(e -> {
+                        log.warn("Movie API connection prewarm failed: {}", e.getMessage());
+                        return Mono.empty();
+                    });
+        });
+    }
+}
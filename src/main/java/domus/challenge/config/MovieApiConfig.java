@@ -1,10 +1,14 @@
 package domus.challenge.config;
 
+import domus.challenge.domain.MovieDimension;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.util.unit.DataSize;
+import reactor.netty.http.HttpProtocol;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.List;
 
 @ConfigurationProperties(prefix = "movie.api")
 @Data
@@ -20,8 +24,68 @@ public class MovieApiConfig {
 
     private DataSize maxInMemorySize;
 
+    // Dedicated connection pool (non-positive / unset values keep the Reactor Netty defaults)
+    private int poolMaxConnections;
+    private int poolPendingAcquireMax;
+    private Duration poolPendingAcquireTimeout;
+    private Duration poolMaxIdleTime;
+    private Duration poolMaxLifeTime;
+    private Duration poolEvictionInterval;
+
+    // HTTP protocols offered to the movie API, e.g. HTTP11, H2 (TLS + ALPN) or H2C (cleartext)
+    private List<HttpProtocol> httpProtocols;
+
+    // Connections opened at startup so the first fan-out finds a warm pool (0 disables)
+    private int prewarmConnections;
+
+    // Movie fields decoded from each page; empty binds the full MoviePageResponseDto
+    private List<String> projectionFields;
+
+    // Dimensions counted next to directors by every crawl (their fields are added to the projection)
+    private List<MovieDimension> groupDimensions;
+
+    // Keep the crawled movies as a columnar, dictionary-encoded store in each snapshot (adds Genre, Year, Rated to the projection)
+    private boolean movieStore;
+
+    // Page retries: full-jitter backoff from retry-backoff up to retry-max-backoff, paid from a shared budget
     private int retryMaxAttempts;
     private Duration retryBackoff;
+    private Duration retryMaxBackoff;
+    private double retryBudgetRatio;
+    private int retryBudgetMaxTokens;
+
+    // Hedged page requests: duplicate a page slower than the given latency percentile, within a budget
+    private boolean hedgeEnabled;
+    private double hedgePercentile;
+    private Duration hedgeMinDelay;
+    private double hedgeBudgetRatio;
+
+    // Circuit breaker around the movie API (a failure threshold of 0 disables it)
+    private int circuitFailureThreshold;
+    private Duration circuitOpenDuration;
+    private int circuitHalfOpenProbes;
 
     private boolean loggingEnabled;
+
+    // Adaptive (AIMD) concurrency of the page fan-out
+    private int crawlConcurrencyMin;
+    private int crawlConcurrencyMax;
+    private Duration crawlLatencyTarget;
+
+    // Rails tallying pages in parallel during a full crawl (0 uses one per CPU core)
+    private int aggregationParallelism;
+
+    // Upper bound for one crawl: pages still in flight are cancelled and the answer is built from what arrived
+    private Duration crawlDeadline;
+
+    // Director snapshot cache: rebuilt in background every TTL (null or zero disables it)
+    private Duration snapshotTtl;
+
+    // Where the last snapshot is persisted for warm restarts (unset disables persistence)
+    private Path snapshotFile;
+
+    // Incremental refresh: re-fetch only the tail plus a few verification pages, with a full crawl every N refreshes
+    private boolean incrementalRefresh;
+    private int incrementalVerifyPages;
+    private int incrementalFullCrawlEvery;
 }
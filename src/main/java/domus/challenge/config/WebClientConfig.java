@@ -3,7 +3,6 @@ package domus.challenge.config;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
-import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,18 +11,52 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.ExchangeStrategies;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
+import reactor.netty.http.Http2SslContextSpec;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
+import java.util.List;
 
 @Configuration
 @Slf4j
 public class WebClientConfig {
 
+    /**
+     * Dedicated pool for the movie API, sized and evicted from {@code movie.api.pool-*}.
+     * Pool gauges are published under {@code reactor.netty.connection.provider.*}.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider movieApiConnectionProvider(MovieApiConfig movieApiConfig) {
+        ConnectionProvider.Builder pool = ConnectionProvider.builder("movie-api")
+                .metrics(true);
+
+        if (movieApiConfig.getPoolMaxConnections() > 0) {
+            pool.maxConnections(movieApiConfig.getPoolMaxConnections());
+        }
+        if (movieApiConfig.getPoolPendingAcquireMax() != 0) {
+            pool.pendingAcquireMaxCount(movieApiConfig.getPoolPendingAcquireMax());
+        }
+        if (movieApiConfig.getPoolPendingAcquireTimeout() != null) {
+            pool.pendingAcquireTimeout(movieApiConfig.getPoolPendingAcquireTimeout());
+        }
+        if (movieApiConfig.getPoolMaxIdleTime() != null) {
+            pool.maxIdleTime(movieApiConfig.getPoolMaxIdleTime());
+        }
+        if (movieApiConfig.getPoolMaxLifeTime() != null) {
+            pool.maxLifeTime(movieApiConfig.getPoolMaxLifeTime());
+        }
+        if (movieApiConfig.getPoolEvictionInterval() != null) {
+            pool.evictInBackground(movieApiConfig.getPoolEvictionInterval());
+        }
+        return pool.build();
+    }
+
     @Bean
-    public WebClient.Builder webClientBuilder(MovieApiConfig movieApiConfig) {
+    public HttpClient movieHttpClient(ConnectionProvider movieApiConnectionProvider, MovieApiConfig movieApiConfig) {
 
-        HttpClient httpClient = HttpClient.create()
+        HttpClient httpClient = HttpClient.create(movieApiConnectionProvider)
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, movieApiConfig.getConnectTimeout())
                 .responseTimeout(movieApiConfig.getResponseTimeout())
                 .doOnConnected(conn ->
@@ -33,6 +66,22 @@ public class WebClientConfig {
                                         (int) movieApiConfig.getWriteTimeout().toSeconds()))
                 );
 
+        List<HttpProtocol> protocols = movieApiConfig.getHttpProtocols();
+        if (protocols != null && !protocols.isEmpty()) {
+            httpClient = httpClient.protocol(protocols.toArray(HttpProtocol[]::new));
+
+            // h2 is negotiated through ALPN, which needs an HTTP/2-capable TLS context
+            if (protocols.contains(HttpProtocol.H2) && isSecure(movieApiConfig.getBaseUrl())) {
+                httpClient = httpClient.secure(spec -> spec.sslContext(Http2SslContextSpec.forClient()));
+            }
+        }
+
+        return httpClient;
+    }
+
+    @Bean
+    public WebClient.Builder webClientBuilder(HttpClient movieHttpClient, MovieApiConfig movieApiConfig) {
+
         ExchangeStrategies strategies = ExchangeStrategies.builder()
                 .codecs(cfg ->
                         cfg.defaultCodecs().maxInMemorySize(
@@ -41,7 +90,7 @@ public class WebClientConfig {
                 ).build();
 
         WebClient.Builder builder = WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .clientConnector(new ReactorClientHttpConnector(movieHttpClient))
                 .exchangeStrategies(strategies);
 
         if (movieApiConfig.isLoggingEnabled()) {
@@ -64,6 +113,7 @@ public class WebClientConfig {
                 .build();
     }
 
+    private static boolean isSecure(String baseUrl) {
+        return baseUrl != null && baseUrl.regionMatches(true, 0, "https:", 0, 6);
+    }
 }
-
-
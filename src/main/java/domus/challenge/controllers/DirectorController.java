@@ -1,20 +1,38 @@
 package domus.challenge.controllers;
 
+import domus.challenge.domain.MovieFilter;
+import domus.challenge.domain.MovieRating;
+import domus.challenge.dto.DirectorResponseDto;
+import domus.challenge.dto.DirectorSearchResponseDto;
+import domus.challenge.dto.DirectorStreamEventDto;
+import domus.challenge.dto.DirectorsBatchRequestDto;
+import domus.challenge.dto.DirectorsBatchResponseDto;
 import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.dto.TopDirectorsResponseDto;
 import domus.challenge.service.DirectorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -24,11 +42,14 @@ import reactor.core.publisher.Mono;
 @Validated
 public class DirectorController {
 
+    static final String STALE_HEADER = SnapshotResponses.STALE_HEADER;
+
     private final DirectorService directorService;
 
     @GetMapping
     @Operation( summary = "Get directors with more movies than the given threshold",
-            description = "Returns a list of directors whose number of movies is strictly greater than the threshold.",
+            description = "Returns a list of directors whose number of movies is strictly greater than the threshold. "
+                    + "Optional genre, rated and yearFrom/yearTo filters count only the matching movies.",
             responses = { @ApiResponse(
                     responseCode = "200",
                     description = "Directors successfully retrieved",
@@ -36,21 +57,166 @@ public class DirectorController {
                             schema = @Schema(implementation = DirectorsResponseDto.class))
             ),@ApiResponse(
                     responseCode = "400",
-                    description = "Invalid threshold value",
+                    description = "Invalid threshold, rating or year, or filters used without the movie store",
                     content = @Content ) } )
     public Mono<ResponseEntity<DirectorsResponseDto>> getDirectors(
             @RequestParam("threshold")
-            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold,
+            @RequestParam(value = "genre", required = false) String genre,
+            @RequestParam(value = "rated", required = false) String rated,
+            @RequestParam(value = "yearFrom", required = false)
+            @Min(value = 0, message = "yearFrom must be a positive integer") Integer yearFrom,
+            @RequestParam(value = "yearTo", required = false)
+            @Min(value = 0, message = "yearTo must be a positive integer") Integer yearTo
     ) {
-        log.info("Received request for directors, threshold={}", threshold);
+        MovieFilter filter = MovieFilter.builder()
+                .genre(genre == null || genre.isBlank() ? null : genre.trim())
+                .rated(rating(rated))
+                .yearFrom(yearFrom)
+                .yearTo(yearTo)
+                .build();
+        log.info("Received request for directors, threshold={}, filter={}", threshold, filter);
 
-        return directorService.findDirectorsAboveThreshold(threshold)
-                .map(ResponseEntity::ok); // no defaultIfEmpty
+        Mono<DirectorsResponseDto> directors = filter.isEmpty()
+                ? directorService.findDirectorsAboveThreshold(threshold)
+                : directorService.findDirectorsAboveThreshold(threshold, filter);
+        return directors
+                .map(SnapshotResponses::ok); // no defaultIfEmpty
     }
 
+    @GetMapping("/top")
+    @Operation( summary = "Get the k directors with the most movies",
+            description = "Returns up to k directors with their movie counts, most movies first and ties by name.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Directors successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TopDirectorsResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid k value",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<TopDirectorsResponseDto>> getTopDirectors(
+            @RequestParam(value = "k", defaultValue = "20")
+            @Min(value = 1, message = "k must be at least 1")
+            @Max(value = 1000, message = "k must be at most 1000") int k
+    ) {
+        log.info("Received request for top directors, k={}", k);
 
-}
+        return directorService.findTopDirectors(k)
+                .map(SnapshotResponses::ok);
+    }
+
+    @GetMapping("/search")
+    @Operation( summary = "Search directors by name prefix",
+            description = "Returns up to limit directors whose name starts with the prefix, ignoring case, "
+                    + "in name order and with their movie counts.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Directors successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DirectorSearchResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Missing prefix or invalid limit",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<DirectorSearchResponseDto>> searchDirectors(
+            @RequestParam("prefix")
+            @NotBlank(message = "prefix must not be blank") String prefix,
+            @RequestParam(value = "limit", defaultValue = "10")
+            @Min(value = 1, message = "limit must be at least 1")
+            @Max(value = 100, message = "limit must be at most 100") int limit
+    ) {
+        log.info("Received director search, prefix='{}', limit={}", prefix, limit);
+
+        return directorService.searchDirectors(prefix, limit)
+                .map(SnapshotResponses::ok);
+    }
+
+    @GetMapping("/{name}")
+    @Operation( summary = "Get one director's movie count",
+            description = "Looks the director up by exact name, falling back to a case-insensitive match.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Director found",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DirectorResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "404",
+                    description = "Director has no counted movies",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<DirectorResponseDto>> getDirector(@PathVariable("name") String name) {
+        log.info("Received request for director '{}'", name);
 
+        return directorService.findDirector(name)
+                .map(SnapshotResponses::ok);
+    }
+
+    @PostMapping("/batch")
+    @Operation( summary = "Get directors above several thresholds at once",
+            description = "Answers every threshold in the body from a single crawl of the movie API.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Directors successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = DirectorsBatchResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Missing or invalid thresholds",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<DirectorsBatchResponseDto>> getDirectorsBatch(
+            @Valid @RequestBody DirectorsBatchRequestDto request
+    ) {
+        log.info("Received batch request for directors, thresholds={}", request.getThresholds());
+
+        return directorService.findDirectorsAboveThresholds(request.getThresholds())
+                .map(SnapshotResponses::ok);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation( summary = "Stream directors with more movies than the given threshold (SSE)",
+            description = "Emits a 'director' event as soon as a director's running count crosses the threshold, "
+                    + "then one 'complete' event with crawl stats.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream started",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = DirectorStreamEventDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid threshold value",
+                    content = @Content ) } )
+    public Flux<ServerSentEvent<DirectorStreamEventDto>> streamDirectors(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+    ) {
+        log.info("Received streaming request for directors, threshold={}", threshold);
 
+        return directorService.streamDirectorsAboveThreshold(threshold)
+                .map(event -> ServerSentEvent.builder(event).event(event.getType()).build());
+    }
 
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation( summary = "Stream directors with more movies than the given threshold (NDJSON)",
+            description = "Same events as the SSE variant, one JSON object per line.")
+    public Flux<DirectorStreamEventDto> streamDirectorsNdjson(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+    ) {
+        log.info("Received NDJSON streaming request for directors, threshold={}", threshold);
 
+        return directorService.streamDirectorsAboveThreshold(threshold);
+    }
+
+    // Accepts the upstream spelling ("PG-13", "Not Rated") as well as the enum name
+    private static MovieRating rating(String rated) {
+        if (rated == null || rated.isBlank()) {
+            return null;
+        }
+        MovieRating rating = MovieRating.tryParse(rated.trim());
+        if (rating == null) {
+            throw new ServerWebInputException("Unknown rating: " + rated);
+        }
+        return rating;
+    }
+}
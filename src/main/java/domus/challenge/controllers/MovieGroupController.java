@@ -0,0 +1,115 @@
+package domus.challenge.controllers;
+
+import domus.challenge.domain.MovieDimension;
+import domus.challenge.dto.GroupResponseDto;
+import domus.challenge.service.DirectorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.validation.constraints.Min;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Threshold queries on movie attributes other than the director, answered from the same snapshot.
+ */
+@RestController
+@RequestMapping("/api")
+@AllArgsConstructor
+@Slf4j
+@Validated
+public class MovieGroupController {
+
+    private final DirectorService directorService;
+
+    @GetMapping("/writers")
+    @Operation( summary = "Get writers with more movies than the given threshold",
+            description = "Returns the writers credited in strictly more movies than the threshold.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Writers successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = GroupResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid threshold value",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<GroupResponseDto>> getWriters(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+    ) {
+        return findAboveThreshold(MovieDimension.WRITER, threshold);
+    }
+
+    @GetMapping("/actors")
+    @Operation( summary = "Get actors with more movies than the given threshold",
+            description = "Returns the actors that appear in strictly more movies than the threshold.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Actors successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = GroupResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid threshold value",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<GroupResponseDto>> getActors(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+    ) {
+        return findAboveThreshold(MovieDimension.ACTOR, threshold);
+    }
+
+    @GetMapping("/genres")
+    @Operation( summary = "Get genres with more movies than the given threshold",
+            description = "Returns the genres of strictly more movies than the threshold.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Genres successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = GroupResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid threshold value",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<GroupResponseDto>> getGenres(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+    ) {
+        return findAboveThreshold(MovieDimension.GENRE, threshold);
+    }
+
+    @GetMapping("/years")
+    @Operation( summary = "Get years with more movies than the given threshold",
+            description = "Returns the release years of strictly more movies than the threshold.",
+            responses = { @ApiResponse(
+                    responseCode = "200",
+                    description = "Years successfully retrieved",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = GroupResponseDto.class))
+            ),@ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid threshold value",
+                    content = @Content ) } )
+    public Mono<ResponseEntity<GroupResponseDto>> getYears(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be a positive integer") int threshold
+    ) {
+        return findAboveThreshold(MovieDimension.YEAR, threshold);
+    }
+
+    private Mono<ResponseEntity<GroupResponseDto>> findAboveThreshold(MovieDimension dimension, int threshold) {
+        log.info("Received request for {}, threshold={}", dimension.getLabel(), threshold);
+
+        return directorService.findAboveThreshold(dimension, threshold)
+                .map(SnapshotResponses::ok);
+    }
+}
@@ -0,0 +1,98 @@
+package domus.challenge.controllers;
+
+import domus.challenge.metrics.CrawlMetrics;
+import domus.challenge.service.DirectorService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Answers conditional GETs on snapshot-backed endpoints with 304 before the handler runs.
+ * <p>
+ * Every answer built from a snapshot carries the snapshot version as its ETag. When the If-None-Match
+ * header names the version of the snapshot the next answer would come from, the body would be
+ * identical, so the request is completed here: no aggregation, no serialization, no body. Requests that
+ * would need a crawl always go through.
+ * <p>
+ * Only the collection endpoints, whose answer is fully determined by the snapshot and the query string,
+ * are short-circuited. Lookups such as {@code /api/directors/{name}} and {@code /search} can answer 404 or
+ * 400 for the same version, so a cached entry must not mask them; the streaming endpoints never carry
+ * an ETag.
+ */
+@Component
+@RequiredArgsConstructor
+public class SnapshotETagFilter implements WebFilter {
+
+    private static final Set<String> SNAPSHOT_PATHS = Set.of("/api/directors", "/api/directors/top",
+            "/api/writers", "/api/actors", "/api/genres", "/api/years");
+
+    private final DirectorService directorService;
+    private final CrawlMetrics crawlMetrics;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<String> ifNoneMatch = ifNoneMatch(request);
+        if (ifNoneMatch.isEmpty() || !isSnapshotBacked(request)) {
+            return chain.filter(exchange);
+        }
+
+        Long version = directorService.currentSnapshotVersion();
+        if (version == null) {
+            return chain.filter(exchange);
+        }
+
+        String etag = SnapshotResponses.etag(version);
+        if (!matches(ifNoneMatch, etag)) {
+            return chain.filter(exchange);
+        }
+
+        crawlMetrics.notModified();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.NOT_MODIFIED);
+        response.getHeaders().setETag(etag);
+        response.getHeaders().setCacheControl(SnapshotResponses.CACHE_CONTROL);
+        return response.setComplete();
+    }
+
+    // A malformed header is left for the handler, which answers as if it were absent
+    private static List<String> ifNoneMatch(ServerHttpRequest request) {
+        try {
+            return request.getHeaders().getIfNoneMatch();
+        } catch (IllegalArgumentException e) {
+            return List.of();
+        }
+    }
+
+    private static boolean isSnapshotBacked(ServerHttpRequest request) {
+        if (request.getMethod() != HttpMethod.GET && request.getMethod() != HttpMethod.HEAD) {
+            return false;
+        }
+        return SNAPSHOT_PATHS.contains(request.getPath().value());
+    }
+
+    // Weak comparison, as If-None-Match requires: W/"x" matches "x". "*" is not a match: it only says the
+    // client holds some representation, not that it holds this version
+    private static boolean matches(List<String> ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.trim();
+            if (tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package domus.challenge.controllers;
+
+import domus.challenge.dto.SnapshotResponseDto;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 200 responses for answers computed from a director snapshot.
+ */
+final class SnapshotResponses {
+
+    static final String STALE_HEADER = "X-Snapshot-Stale";
+
+    // Clients may keep answers but must revalidate them; a matching ETag costs a 304 and no aggregation
+    static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+    private SnapshotResponses() {
+    }
+
+    // Age / Last-Modified tell clients how old the snapshot behind the answer is
+    // ETag is the snapshot version, so If-None-Match can be answered before the handler runs
+    // X-Snapshot-Stale marks answers served from an outdated snapshot while the upstream is failing
+    static <T extends SnapshotResponseDto> ResponseEntity<T> ok(T dto) {
+        Instant generatedAt = dto.getGeneratedAt();
+        Long version = dto.getSnapshotVersion();
+        if (generatedAt == null) {
+            return ResponseEntity.ok(dto);
+        }
+
+        long ageSeconds = Math.max(0, Duration.between(generatedAt, Instant.now()).toSeconds());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.AGE, Long.toString(ageSeconds))
+                .lastModified(generatedAt);
+        if (version != null) {
+            response.eTag(etag(version)).cacheControl(CACHE_CONTROL);
+        }
+        if (dto.isStale()) {
+            response.header(STALE_HEADER, "true");
+        }
+        return response.body(dto);
+    }
+
+    static String etag(long version) {
+        return "\"" + String.format("%016x", version) + "\"";
+    }
+}
@@ -0,0 +1,9 @@
+package domus.challenge.domain;
+
+import lombok.Value;
+
+@Value
+public class DirectorCount {
+    String director;
+    int movies;
+}
@@ -0,0 +1,122 @@
+package domus.challenge.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Threshold index over frozen director counts (or the counts of any other {@link MovieDimension}),
+ * built once per snapshot.
+ * <p>
+ * Directors are grouped by distinct count value ("bands", ascending). Each band keeps the
+ * name-sorted list of every director whose count is at least the band's value, so
+ * {@code above(threshold)} is a binary search over the bands followed by handing out one
+ * precomputed list: O(log b) plus the size of the answer. Because a director appears in one
+ * band per distinct count up to its own, the lists add up to at most the number of movies counted.
+ */
+public final class DirectorCountIndex {
+
+    private static final DirectorCountIndex EMPTY = new DirectorCountIndex(new int[0], new String[0][]);
+
+    private final int[] bandCounts;
+    private final String[][] bandDirectors;
+
+    private DirectorCountIndex(int[] bandCounts, String[][] bandDirectors) {
+        this.bandCounts = bandCounts;
+        this.bandDirectors = bandDirectors;
+    }
+
+    public static DirectorCountIndex build(StringIntCounter counts) {
+        int size = counts.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        // Ids ordered by name, then stably by count: each count group stays name-sorted
+        Integer[] order = new Integer[size];
+        for (int id = 0; id < size; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> counts.keyAt(a).compareTo(counts.keyAt(b)));
+        Arrays.sort(order, (a, b) -> Integer.compare(counts.countAt(a), counts.countAt(b)));
+
+        int bands = 1;
+        for (int i = 1; i < size; i++) {
+            if (counts.countAt(order[i]) != counts.countAt(order[i - 1])) bands++;
+        }
+
+        int[] bandCounts = new int[bands];
+        String[][] bandDirectors = new String[bands][];
+
+        // Walk from the highest count down, merging each group into the running name-sorted list
+        String[] atLeast = new String[0];
+        int band = bands - 1;
+        int end = size;
+        while (end > 0) {
+            int count = counts.countAt(order[end - 1]);
+            int start = end - 1;
+            while (start > 0 && counts.countAt(order[start - 1]) == count) {
+                start--;
+            }
+
+            String[] group = new String[end - start];
+            for (int i = start; i < end; i++) {
+                group[i - start] = counts.keyAt(order[i]);
+            }
+
+            atLeast = merge(atLeast, group);
+            bandCounts[band] = count;
+            bandDirectors[band] = atLeast;
+            band--;
+            end = start;
+        }
+
+        return new DirectorCountIndex(bandCounts, bandDirectors);
+    }
+
+    /**
+     * Directors with strictly more than {@code threshold} movies, sorted by name.
+     */
+    public List<String> above(int threshold) {
+        int band = firstBandAbove(threshold);
+        if (band == bandCounts.length) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(Arrays.asList(bandDirectors[band]));
+    }
+
+    /**
+     * Number of directors with strictly more than {@code threshold} movies.
+     */
+    public int countAbove(int threshold) {
+        int band = firstBandAbove(threshold);
+        return band == bandCounts.length ? 0 : bandDirectors[band].length;
+    }
+
+    private int firstBandAbove(int threshold) {
+        int low = 0;
+        int high = bandCounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (bandCounts[mid] > threshold) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static String[] merge(String[] left, String[] right) {
+        String[] merged = new String[left.length + right.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < left.length && j < right.length) {
+            merged[k++] = left[i].compareTo(right[j]) <= 0 ? left[i++] : right[j++];
+        }
+        while (i < left.length) merged[k++] = left[i++];
+        while (j < right.length) merged[k++] = right[j++];
+        return merged;
+    }
+}
@@ -1,27 +1,64 @@
 package domus.challenge.domain;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
 public class DirectorCounterState {
 
-    private final Map<String, Integer> counts = new HashMap<>();
+    private final StringIntCounter counts = new StringIntCounter();
 
-    public void add(Movie movie) {
-        if (movie == null || movie.getDirector() == null) return;
-        counts.merge(movie.getDirector(), 1, Integer::sum);
+    /**
+     * Counts the movie's director and returns the director's running total, or 0 when there is none.
+     */
+    public int add(Movie movie) {
+        if (movie == null || movie.getDirector() == null) return 0;
+        return counts.increment(movie.getDirector());
+    }
+
+    /**
+     * Dictionary-encodes a director name; the id can be counted later with {@link #add(int)}.
+     */
+    public int directorId(String director) {
+        return counts.intern(director);
+    }
+
+    public void add(int directorId) {
+        counts.incrementId(directorId);
+    }
+
+
+    /**
+     * Running total of the director, 0 when not counted yet.
+     */
+    public int count(String director) {
+        return counts.get(director);
     }
 
     public List<String> above(int threshold) {
-        return counts.entrySet().stream()
-                .filter(e -> e.getValue() > threshold)
-                .map(Map.Entry::getKey)
-                .sorted()
-                .toList();
+        List<String> result = new ArrayList<>();
+        for (int id = 0; id < counts.size(); id++) {
+            if (counts.countAt(id) > threshold) {
+                result.add(counts.keyAt(id));
+            }
+        }
+        Collections.sort(result);
+        return Collections.unmodifiableList(result);
     }
 
     public Map<String, Integer> snapshot() {
-        return Map.copyOf(counts);
+        return counts.copy().asMap();
+    }
+
+    // Live counter, for PageLedger to fold page tallies into
+    StringIntCounter counter() {
+        return counts;
+    }
+
+    // Frozen copy of the raw counter, for DirectorSnapshot to index without going through boxed values.
+    // Directors removed down to zero by an incremental refresh are left out.
+    StringIntCounter frozenCounts() {
+        return counts.compactCopy();
     }
 }
@@ -0,0 +1,99 @@
+package domus.challenge.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Prefix index over frozen director counts, built once per snapshot for autocomplete.
+ * <p>
+ * Names are kept in one array sorted case-insensitively, next to their counts. Every name starting with a
+ * given prefix (ignoring case) sits in one contiguous run of that order, so {@code search(prefix, limit)}
+ * is a binary search for the start of the run followed by a walk of at most {@code limit} entries:
+ * O(log n + limit), with two arrays as the only memory besides the names the snapshot already holds.
+ */
+public final class DirectorNameIndex {
+
+    private static final DirectorNameIndex EMPTY = new DirectorNameIndex(new String[0], new int[0]);
+
+    private final String[] names;
+    private final int[] counts;
+
+    private DirectorNameIndex(String[] names, int[] counts) {
+        this.names = names;
+        this.counts = counts;
+    }
+
+    public static DirectorNameIndex build(StringIntCounter counts) {
+        int size = counts.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+
+        // Ties between names differing only in case are broken by the exact order, so the index is stable
+        Integer[] order = new Integer[size];
+        for (int id = 0; id < size; id++) {
+            order[id] = id;
+        }
+        Arrays.sort(order, (a, b) -> compare(counts.keyAt(a), counts.keyAt(b)));
+
+        String[] names = new String[size];
+        int[] movies = new int[size];
+        for (int i = 0; i < size; i++) {
+            names[i] = counts.keyAt(order[i]);
+            movies[i] = counts.countAt(order[i]);
+        }
+        return new DirectorNameIndex(names, movies);
+    }
+
+    /**
+     * Up to {@code limit} directors whose name starts with {@code prefix}, ignoring case, in name order.
+     */
+    public List<DirectorCount> search(String prefix, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        List<DirectorCount> result = new ArrayList<>(Math.min(limit, 16));
+        for (int i = lowerBound(prefix); i < names.length && result.size() < limit; i++) {
+            if (!names[i].regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            result.add(new DirectorCount(names[i], counts[i]));
+        }
+        return result;
+    }
+
+    /**
+     * The director whose name equals {@code name} ignoring case, or {@code null}; the first in name order
+     * when several differ only in case.
+     */
+    public DirectorCount findIgnoreCase(String name) {
+        int i = lowerBound(name);
+        return i < names.length && names[i].equalsIgnoreCase(name) ? new DirectorCount(names[i], counts[i]) : null;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    // First position whose name is not before key, comparing case-insensitively only
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = names.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (String.CASE_INSENSITIVE_ORDER.compare(names[mid], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compare(String a, String b) {
+        int folded = String.CASE_INSENSITIVE_ORDER.compare(a, b);
+        return folded != 0 ? folded : a.compareTo(b);
+    }
+}
@@ -0,0 +1,201 @@
+package domus.challenge.domain;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Immutable view of the director counts produced by one full crawl.
+ * Built once from a {@link DirectorCounterState} and shared between requests; threshold
+ * queries go through a {@link DirectorCountIndex} and prefix searches through a {@link DirectorNameIndex},
+ * both built at the same time. Exact lookups hash straight into the frozen counter.
+ */
+@Getter
+public final class DirectorSnapshot {
+
+    private final Map<String, Integer> counts;
+    private final Instant createdAt;
+
+    // Upstream metadata reported by the first page of the crawl
+    private final int totalMovies;
+    private final int totalPages;
+
+    // Pages actually counted; fewer than totalPages when pages were dropped or the crawl hit its deadline
+    private final int pagesFetched;
+
+    // Content hash: equal versions mean every answer built from either snapshot is the same (used as ETag)
+    private final long version;
+
+    @Getter(AccessLevel.NONE)
+    private final StringIntCounter counter;
+
+    @Getter(AccessLevel.NONE)
+    private final DirectorCountIndex index;
+
+    @Getter(AccessLevel.NONE)
+    private final DirectorNameIndex nameIndex;
+
+    // Threshold indexes of the other dimensions counted by the same crawl
+    @Getter(AccessLevel.NONE)
+    private final Map<MovieDimension, DirectorCountIndex> groups;
+
+    // Columnar copy of the crawled movies; null when the store is disabled or the snapshot was restored
+    private final MovieStore movieStore;
+
+    private DirectorSnapshot(StringIntCounter counts, Instant createdAt, int totalMovies, int totalPages, int pagesFetched,
+                             Map<MovieDimension, StringIntCounter> groups, MovieStore movieStore, long content) {
+        this.counts = counts.asMap();
+        this.createdAt = createdAt;
+        this.totalMovies = totalMovies;
+        this.totalPages = totalPages;
+        this.pagesFetched = pagesFetched;
+        this.counter = counts;
+        this.index = DirectorCountIndex.build(counts);
+        this.nameIndex = DirectorNameIndex.build(counts);
+        this.groups = new EnumMap<>(MovieDimension.class);
+        groups.forEach((dimension, groupCounts) -> this.groups.put(dimension, DirectorCountIndex.build(groupCounts)));
+        this.movieStore = movieStore;
+        this.version = versionOf(counts, content, totalMovies, totalPages, pagesFetched);
+    }
+
+    public static DirectorSnapshot from(DirectorCounterState state, Instant createdAt) {
+        return from(state, createdAt, 0, 0);
+    }
+
+    public static DirectorSnapshot from(DirectorCounterState state, Instant createdAt, int totalMovies, int totalPages) {
+        return from(state, createdAt, totalMovies, totalPages, totalPages);
+    }
+
+    public static DirectorSnapshot from(DirectorCounterState state, Instant createdAt, int totalMovies, int totalPages,
+                                        int pagesFetched) {
+        return from(state, createdAt, totalMovies, totalPages, pagesFetched, Map.of());
+    }
+
+    /**
+     * Snapshot that also answers threshold queries on other dimensions, from counters frozen by the caller.
+     */
+    public static DirectorSnapshot from(DirectorCounterState state, Instant createdAt, int totalMovies, int totalPages,
+                                        int pagesFetched, Map<MovieDimension, StringIntCounter> groups) {
+        return new DirectorSnapshot(state.frozenCounts(), createdAt, totalMovies, totalPages, pagesFetched, groups, null, 0);
+    }
+
+    /**
+     * Snapshot of everything a crawl left in the ledger: director and group counts, upstream metadata and,
+     * when the ledger keeps rows, the {@link MovieStore}.
+     */
+    public static DirectorSnapshot from(PageLedger ledger, Instant createdAt) {
+        return new DirectorSnapshot(ledger.getState().frozenCounts(), createdAt, ledger.getTotal(),
+                ledger.getTotalPages(), ledger.recordedPages(), ledger.frozenGroups(), ledger.movieStore(),
+                ledger.contentHash());
+    }
+
+    /**
+     * Rebuilds a snapshot from counts read back from storage; the counter must not be modified afterwards.
+     * Only complete snapshots are persisted, so every page is taken as fetched.
+     */
+    public static DirectorSnapshot restore(StringIntCounter counts, Instant createdAt, int totalMovies, int totalPages) {
+        return new DirectorSnapshot(counts, createdAt, totalMovies, totalPages, totalPages, Map.of(), null, 0);
+    }
+
+    public List<String> above(int threshold) {
+        return index.above(threshold);
+    }
+
+    /**
+     * True when the crawl behind this snapshot also counted {@code dimension}.
+     */
+    public boolean hasGroup(MovieDimension dimension) {
+        return dimension == MovieDimension.DIRECTOR || groups.containsKey(dimension);
+    }
+
+    /**
+     * Keys of {@code dimension} with strictly more than {@code threshold} movies, sorted; empty when the
+     * dimension was not counted.
+     */
+    public List<String> above(MovieDimension dimension, int threshold) {
+        if (dimension == MovieDimension.DIRECTOR) {
+            return above(threshold);
+        }
+        DirectorCountIndex group = groups.get(dimension);
+        return group == null ? List.of() : group.above(threshold);
+    }
+
+    /**
+     * True when the snapshot carries the movie store, so filtered queries can be answered from it.
+     */
+    public boolean hasMovieStore() {
+        return movieStore != null;
+    }
+
+    /**
+     * Directors with strictly more than {@code threshold} movies matching the filter, sorted; empty when
+     * the snapshot has no movie store.
+     */
+    public List<String> above(MovieFilter filter, int threshold) {
+        if (filter.isEmpty()) {
+            return above(threshold);
+        }
+        return movieStore == null ? List.of() : movieStore.directorsAbove(filter, threshold);
+    }
+
+    /**
+     * Movie count of the director, or {@code null} when not counted. An exact name is one hash lookup;
+     * otherwise the name is matched ignoring case.
+     */
+    public DirectorCount find(String name) {
+        int id = counter.idOf(name);
+        if (id >= 0) {
+            return new DirectorCount(counter.keyAt(id), counter.countAt(id));
+        }
+        return nameIndex.findIgnoreCase(name);
+    }
+
+    /**
+     * Up to {@code limit} directors whose name starts with {@code prefix}, ignoring case, in name order.
+     */
+    public List<DirectorCount> search(String prefix, int limit) {
+        return nameIndex.search(prefix, limit);
+    }
+
+    public List<DirectorCount> top(int k) {
+        return TopKSelector.top(counter, k);
+    }
+
+    public void forEachCount(ObjIntConsumer<String> action) {
+        counter.forEach(action);
+    }
+
+    public boolean isComplete() {
+        return pagesFetched >= totalPages;
+    }
+
+    public Duration age(Instant now) {
+        return Duration.between(createdAt, now);
+    }
+
+    // Order-independent over the director counts, mixed with the page content behind the other answers
+    private static long versionOf(StringIntCounter counts, long content, int totalMovies, int totalPages,
+                                  int pagesFetched) {
+        long hash = 0;
+        for (int id = 0; id < counts.size(); id++) {
+            hash += mix(((long) counts.keyAt(id).hashCode() << 32) | (counts.countAt(id) & 0xffffffffL));
+        }
+        hash = mix(hash ^ content);
+        hash = mix(hash ^ totalMovies);
+        hash = mix(hash ^ totalPages);
+        return mix(hash ^ pagesFetched);
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,70 @@
+package domus.challenge.domain;
+
+import lombok.Getter;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Movie} attribute the crawl can group and count by. Multi-valued attributes
+ * ({@code "Actor 1, Actor 2"}) count once per listed value; role notes such as
+ * {@code "Jonathan Nolan (screenplay)"} are dropped so the same person is counted under one name.
+ */
+public enum MovieDimension {
+
+    DIRECTOR("directors", "Director", Movie::getDirector, false),
+    WRITER("writers", "Writer", Movie::getWriter, true),
+    ACTOR("actors", "Actors", Movie::getActors, true),
+    GENRE("genres", "Genre", Movie::getGenre, true),
+    YEAR("years", "Year", Movie::getYear, false);
+
+    private static final String NOT_AVAILABLE = "N/A";
+
+    // Plural name used in responses and logs
+    @Getter
+    private final String label;
+
+    // Upstream JSON attribute, so the projection decoder can be told to read it
+    @Getter
+    private final String field;
+    private final Function<Movie, String> extractor;
+    private final boolean multiValued;
+
+    MovieDimension(String label, String field, Function<Movie, String> extractor, boolean multiValued) {
+        this.label = label;
+        this.field = field;
+        this.extractor = extractor;
+        this.multiValued = multiValued;
+    }
+
+    /**
+     * Hands every key the movie contributes to this dimension to {@code action}; nothing when the
+     * attribute is missing.
+     */
+    public void forEachKey(Movie movie, Consumer<String> action) {
+        String value = movie == null ? null : extractor.apply(movie);
+        if (value == null) {
+            return;
+        }
+        if (!multiValued) {
+            action.accept(value);
+            return;
+        }
+
+        int start = 0;
+        while (start <= value.length()) {
+            int comma = value.indexOf(',', start);
+            int end = comma < 0 ? value.length() : comma;
+            String key = clean(value.substring(start, end));
+            if (!key.isEmpty() && !NOT_AVAILABLE.equals(key)) {
+                action.accept(key);
+            }
+            start = end + 1;
+        }
+    }
+
+    private static String clean(String key) {
+        int note = key.indexOf('(');
+        return (note < 0 ? key : key.substring(0, note)).trim();
+    }
+}
@@ -0,0 +1,24 @@
+package domus.challenge.domain;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Conditions a movie must meet to be counted by a filtered director query. Every condition is optional
+ * and they all have to hold; the year bounds are inclusive.
+ */
+@Value
+@Builder
+public class MovieFilter {
+
+    public static final MovieFilter NONE = MovieFilter.builder().build();
+
+    String genre;
+    MovieRating rated;
+    Integer yearFrom;
+    Integer yearTo;
+
+    public boolean isEmpty() {
+        return genre == null && rated == null && yearFrom == null && yearTo == null;
+    }
+}
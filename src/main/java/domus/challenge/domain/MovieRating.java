@@ -5,9 +5,13 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 public enum MovieRating {
     G, PG, PG_13, R, NC_17, NOT_RATED;
 
+    // Lenient: unknown values map to null instead of failing the whole page, in every decoding path
     @JsonCreator
-    public static MovieRating fromString(String value) {
-        if (value == null) return null;
+    public static MovieRating tryParse(String value) {
+        return value == null ? null : lookup(value);
+    }
+
+    private static MovieRating lookup(String value) {
         return switch (value.toUpperCase().replace("-", "_")) {
             case "G" -> G;
             case "PG" -> PG;
@@ -15,7 +19,7 @@ public enum MovieRating {
             case "R" -> R;
             case "NC_17" -> NC_17;
             case "NOT RATED", "NOT_RATED" -> NOT_RATED;
-            default -> throw new IllegalArgumentException("Unknown rating: " + value);
+            default -> null;
         };
     }
 }
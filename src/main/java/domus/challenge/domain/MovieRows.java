@@ -0,0 +1,119 @@
+package domus.challenge.domain;
+
+import java.util.Arrays;
+
+/**
+ * The movies of one page as dictionary codes: director, year, rating and genres per row.
+ * A {@link PageTally} produces it with page-local codes, {@link PageLedger} remaps it to the codes of
+ * its own dictionaries, and {@link MovieStore} concatenates the pages into columns.
+ */
+final class MovieRows {
+
+    static final int NONE = -1;
+
+    static final MovieRows EMPTY = new MovieRows(new int[0], new int[0], new byte[0], new int[1], new int[0]);
+
+    final int[] director;
+    final int[] year;
+    final byte[] rated;       // MovieRating ordinal, NONE when missing or unknown
+    final int[] genreOffsets; // genres of row r are genres[genreOffsets[r]] .. genres[genreOffsets[r + 1] - 1]
+    final int[] genres;
+
+    MovieRows(int[] director, int[] year, byte[] rated, int[] genreOffsets, int[] genres) {
+        this.director = director;
+        this.year = year;
+        this.rated = rated;
+        this.genreOffsets = genreOffsets;
+        this.genres = genres;
+    }
+
+    int size() {
+        return director.length;
+    }
+
+    /**
+     * Same rows with every local code {@code c} replaced by {@code ids[c]} of its column.
+     */
+    MovieRows remap(int[] directorIds, int[] yearIds, int[] genreIds) {
+        return new MovieRows(
+                remap(director, directorIds),
+                remap(year, yearIds),
+                rated,
+                genreOffsets,
+                remap(genres, genreIds));
+    }
+
+    private static int[] remap(int[] codes, int[] ids) {
+        int[] remapped = Arrays.copyOf(codes, codes.length);
+        for (int i = 0; i < remapped.length; i++) {
+            if (remapped[i] != NONE) {
+                remapped[i] = ids[remapped[i]];
+            }
+        }
+        return remapped;
+    }
+
+    /**
+     * Appends rows one movie at a time; keys of the other dimensions are ignored.
+     */
+    static final class Builder {
+
+        private int size;
+        private int[] director;
+        private int[] year;
+        private byte[] rated;
+        private int[] genreOffsets;
+        private int[] genres;
+        private int genreCount;
+
+        private int currentDirector = NONE;
+        private int currentYear = NONE;
+
+        Builder(int expectedRows) {
+            int capacity = Math.max(1, expectedRows);
+            this.director = new int[capacity];
+            this.year = new int[capacity];
+            this.rated = new byte[capacity];
+            this.genreOffsets = new int[capacity + 1];
+            this.genres = new int[capacity * 2];
+        }
+
+        void key(MovieDimension dimension, int code) {
+            switch (dimension) {
+                case DIRECTOR -> currentDirector = code;
+                case YEAR -> currentYear = code;
+                case GENRE -> {
+                    if (genreCount == genres.length) genres = Arrays.copyOf(genres, genres.length * 2);
+                    genres[genreCount++] = code;
+                }
+                default -> { }
+            }
+        }
+
+        void endRow(MovieRating rating) {
+            if (size == director.length) {
+                int capacity = size * 2;
+                director = Arrays.copyOf(director, capacity);
+                year = Arrays.copyOf(year, capacity);
+                rated = Arrays.copyOf(rated, capacity);
+                genreOffsets = Arrays.copyOf(genreOffsets, capacity + 1);
+            }
+            director[size] = currentDirector;
+            year[size] = currentYear;
+            rated[size] = rating == null ? NONE : (byte) rating.ordinal();
+            size++;
+            genreOffsets[size] = genreCount;
+            currentDirector = NONE;
+            currentYear = NONE;
+        }
+
+        MovieRows build() {
+            return new MovieRows(
+                    Arrays.copyOf(director, size),
+                    Arrays.copyOf(year, size),
+                    Arrays.copyOf(rated, size),
+                    Arrays.copyOf(genreOffsets, size + 1),
+                    Arrays.copyOf(genres, genreCount));
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package domus.challenge.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Column-oriented, dictionary-encoded copy of the crawled movies, so new questions about the catalog can be
+ * answered from memory instead of crawling again.
+ * <p>
+ * Every movie is one row. Director and year are {@code int} codes into frozen string dictionaries, the
+ * rating is the {@link MovieRating} ordinal in a {@code byte}, and genres (multi-valued) are codes in one
+ * shared array addressed through per-row offsets. A missing value is {@value #NONE}. A row costs about
+ * 13 bytes plus 4 per genre, against a few hundred for a {@code Movie} with its strings.
+ * <p>
+ * Filters are answered from {@link RowBitmap} indexes built with the store, one per genre, rating and year
+ * value: a {@link MovieFilter} becomes a bitwise AND of a few bitmaps instead of a scan of every row.
+ * <p>
+ * Immutable once built; safe to share between requests.
+ */
+public final class MovieStore {
+
+    public static final int NONE = MovieRows.NONE;
+
+    private final int size;
+    private final int[] director;
+    private final int[] year;
+    private final byte[] rated;
+    private final int[] genreOffsets;
+    private final int[] genres;
+
+    private final StringIntCounter directors;
+    private final StringIntCounter genreNames;
+    private final StringIntCounter years;
+    private final int[] yearNumbers; // numeric value of each year code, NONE when it does not start with digits
+
+    // Rows having each value, indexed by genre code, rating ordinal and year code
+    private final RowBitmap[] genreIndex;
+    private final RowBitmap[] ratingIndex;
+    private final RowBitmap[] yearIndex;
+    private final RowBitmap allRows;
+
+    private MovieStore(int size, int[] director, int[] year, byte[] rated, int[] genreOffsets, int[] genres,
+                       StringIntCounter directors, StringIntCounter genreNames, StringIntCounter years) {
+        this.size = size;
+        this.director = director;
+        this.year = year;
+        this.rated = rated;
+        this.genreOffsets = genreOffsets;
+        this.genres = genres;
+        this.directors = directors;
+        this.genreNames = genreNames;
+        this.years = years;
+
+        this.yearNumbers = new int[years.size()];
+        for (int code = 0; code < years.size(); code++) {
+            yearNumbers[code] = parseYear(years.keyAt(code));
+        }
+
+        this.genreIndex = buildIndex(genreNames.size(), (row, action) -> forEachGenre(row, action));
+        this.ratingIndex = buildIndex(MovieRating.values().length, (row, action) -> {
+            if (rated[row] != NONE) action.accept(rated[row]);
+        });
+        this.yearIndex = buildIndex(years.size(), (row, action) -> {
+            if (year[row] != NONE) action.accept(year[row]);
+        });
+        this.allRows = RowBitmap.range(size);
+    }
+
+    private interface RowValues {
+        void forEach(int row, IntConsumer action);
+    }
+
+    // One pass over the rows; rows arrive in ascending order, as the bitmap builders require
+    private RowBitmap[] buildIndex(int values, RowValues rowValues) {
+        RowBitmap.Builder[] builders = new RowBitmap.Builder[values];
+        for (int row = 0; row < size; row++) {
+            int current = row;
+            rowValues.forEach(row, value -> {
+                RowBitmap.Builder builder = builders[value];
+                if (builder == null) {
+                    builder = builders[value] = new RowBitmap.Builder();
+                }
+                // A multi-valued attribute may list the same value twice on one row
+                builder.addIfAbsent(current);
+            });
+        }
+        RowBitmap[] index = new RowBitmap[values];
+        for (int value = 0; value < values; value++) {
+            index[value] = builders[value] == null ? RowBitmap.EMPTY : builders[value].build();
+        }
+        return index;
+    }
+
+    /**
+     * Concatenates page rows into columns. The dictionaries must be the ones the rows were encoded with and
+     * must not be modified afterwards.
+     */
+    static MovieStore of(List<MovieRows> pages, StringIntCounter directors, StringIntCounter genres,
+                         StringIntCounter years) {
+        int rows = 0;
+        int genreCodes = 0;
+        for (MovieRows page : pages) {
+            rows += page.size();
+            genreCodes += page.genres.length;
+        }
+
+        int[] director = new int[rows];
+        int[] year = new int[rows];
+        byte[] rated = new byte[rows];
+        int[] genreOffsets = new int[rows + 1];
+        int[] genreColumn = new int[genreCodes];
+
+        int row = 0;
+        int genre = 0;
+        for (MovieRows page : pages) {
+            int n = page.size();
+            System.arraycopy(page.director, 0, director, row, n);
+            System.arraycopy(page.year, 0, year, row, n);
+            System.arraycopy(page.rated, 0, rated, row, n);
+            for (int i = 0; i < n; i++) {
+                genreOffsets[row + i + 1] = genre + page.genreOffsets[i + 1];
+            }
+            System.arraycopy(page.genres, 0, genreColumn, genre, page.genres.length);
+            row += n;
+            genre += page.genres.length;
+        }
+
+        return new MovieStore(rows, director, year, rated, genreOffsets, genreColumn, directors, genres, years);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Director code of the row, or {@link #NONE}.
+     */
+    public int director(int row) {
+        return director[row];
+    }
+
+    /**
+     * Release year of the row as a number, or {@link #NONE} when missing or not numeric.
+     */
+    public int year(int row) {
+        int code = year[row];
+        return code == NONE ? NONE : yearNumbers[code];
+    }
+
+    /**
+     * Rating of the row, or {@code null}.
+     */
+    public MovieRating rating(int row) {
+        byte ordinal = rated[row];
+        return ordinal == NONE ? null : MovieRating.values()[ordinal];
+    }
+
+    public boolean hasGenre(int row, int genreCode) {
+        for (int i = genreOffsets[row]; i < genreOffsets[row + 1]; i++) {
+            if (genres[i] == genreCode) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Hands every genre code of the row to {@code action}.
+     */
+    public void forEachGenre(int row, IntConsumer action) {
+        for (int i = genreOffsets[row]; i < genreOffsets[row + 1]; i++) {
+            action.accept(genres[i]);
+        }
+    }
+
+    public int directorCode(String name) {
+        return directors.idOf(name);
+    }
+
+    public String directorName(int code) {
+        return directors.keyAt(code);
+    }
+
+    public int directorCount() {
+        return directors.size();
+    }
+
+    /**
+     * Genre code by name, ignoring case; {@link #NONE} when no movie has the genre.
+     */
+    public int genreCode(String name) {
+        int code = genreNames.idOf(name);
+        for (int candidate = 0; code < 0 && candidate < genreNames.size(); candidate++) {
+            if (genreNames.keyAt(candidate).equalsIgnoreCase(name)) code = candidate;
+        }
+        return code;
+    }
+
+    public String genreName(int code) {
+        return genreNames.keyAt(code);
+    }
+
+    public int genreCount() {
+        return genreNames.size();
+    }
+
+    /**
+     * Movies per director code among the rows accepted by {@code rows}, in one pass over the director column.
+     */
+    public int[] countByDirector(IntPredicate rows) {
+        int[] counts = new int[directors.size()];
+        for (int row = 0; row < size; row++) {
+            int code = director[row];
+            if (code != NONE && rows.test(row)) {
+                counts[code]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Rows matching every condition of the filter: the AND of the genre, rating and year-range bitmaps.
+     * A year range is the OR of the bitmaps of the years inside it.
+     */
+    public RowBitmap select(MovieFilter filter) {
+        RowBitmap rows = allRows;
+        if (filter.getGenre() != null) {
+            int code = genreCode(filter.getGenre());
+            rows = rows.and(code < 0 ? RowBitmap.EMPTY : genreIndex[code]);
+        }
+        if (filter.getRated() != null) {
+            rows = rows.and(ratingIndex[filter.getRated().ordinal()]);
+        }
+        if (filter.getYearFrom() != null || filter.getYearTo() != null) {
+            rows = rows.and(yearRange(filter.getYearFrom(), filter.getYearTo()));
+        }
+        return rows;
+    }
+
+    private RowBitmap yearRange(Integer from, Integer to) {
+        int low = from == null ? Integer.MIN_VALUE : from;
+        int high = to == null ? Integer.MAX_VALUE : to;
+        RowBitmap rows = RowBitmap.EMPTY;
+        for (int code = 0; code < yearNumbers.length; code++) {
+            int value = yearNumbers[code];
+            if (value != NONE && value >= low && value <= high) {
+                rows = rows.or(yearIndex[code]);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Movies per director code among the selected rows.
+     */
+    public int[] countByDirector(RowBitmap rows) {
+        int[] counts = new int[directors.size()];
+        rows.forEach(row -> {
+            int code = director[row];
+            if (code != NONE) counts[code]++;
+        });
+        return counts;
+    }
+
+    /**
+     * Directors with strictly more than {@code threshold} movies matching the filter, sorted by name.
+     */
+    public List<String> directorsAbove(MovieFilter filter, int threshold) {
+        int[] counts = countByDirector(select(filter));
+        List<String> result = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > threshold) result.add(directors.keyAt(code));
+        }
+        result.sort(null);
+        return result;
+    }
+
+    /**
+     * Approximate heap used by the columns and their indexes (dictionary strings are shared with the
+     * snapshot and not counted).
+     */
+    public long estimatedBytes() {
+        long bytes = 4L * director.length + 4L * year.length + rated.length + 4L * genreOffsets.length
+                + 4L * genres.length + 4L * yearNumbers.length + allRows.estimatedBytes();
+        for (RowBitmap[] index : List.of(genreIndex, ratingIndex, yearIndex)) {
+            for (RowBitmap bitmap : index) {
+                bytes += bitmap.estimatedBytes();
+            }
+        }
+        return bytes;
+    }
+
+    // "1999" -> 1999, "2010–2015" -> 2010
+    private static int parseYear(String value) {
+        int year = 0;
+        int digits = 0;
+        while (digits < value.length() && digits < 4 && Character.isDigit(value.charAt(digits))) {
+            year = year * 10 + (value.charAt(digits) - '0');
+            digits++;
+        }
+        return digits == 0 ? NONE : year;
+    }
+}
@@ -0,0 +1,253 @@
+package domus.challenge.domain;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Remembers what every upstream page contributed to the counts of each {@link MovieDimension}: a content
+ * fingerprint and, per dimension, the key ids and movie counts taken from its {@link PageTally}. An
+ * incremental refresh can then re-fetch a few pages, compare fingerprints, and swap a changed page's
+ * contribution without recounting the rest.
+ * <p>
+ * Director counts live in the {@link DirectorCounterState}; the other dimensions in counters of their own.
+ * A ledger that keeps rows also stores every page's movies as {@link MovieRows} for the {@link MovieStore}.
+ * Pages are numbered from 1. Not thread-safe; a ledger belongs to one crawl at a time.
+ */
+public final class PageLedger {
+
+    private static final int[] NO_IDS = new int[0];
+    private static final int DIRECTOR = MovieDimension.DIRECTOR.ordinal();
+
+    @Getter
+    private final DirectorCounterState state;
+
+    @Getter
+    private final Set<MovieDimension> dimensions;
+
+    @Getter
+    private final boolean keepingRows;
+
+    // Indexed by dimension ordinal; null for dimensions that are not counted
+    private final StringIntCounter[] counters = new StringIntCounter[MovieDimension.values().length];
+    private final int[][][] pageIds = new int[MovieDimension.values().length][][];
+    private final int[][][] pageCounts = new int[MovieDimension.values().length][][];
+
+    private long[] fingerprints = new long[16];
+    private MovieRows[] pageRows = new MovieRows[16];
+    private boolean consistent = true;
+
+    @Getter
+    private int total;
+    @Getter
+    private int perPage;
+    @Getter
+    private int totalPages;
+
+    public PageLedger(DirectorCounterState state) {
+        this(state, Set.of(), false);
+    }
+
+    /**
+     * Counts directors plus every dimension in {@code groups}; keeping rows adds the genre and year
+     * dimensions, whose dictionaries the rows are encoded with.
+     */
+    public PageLedger(DirectorCounterState state, Set<MovieDimension> groups, boolean keepRows) {
+        this.state = state;
+        this.keepingRows = keepRows;
+
+        EnumSet<MovieDimension> dimensions = EnumSet.of(MovieDimension.DIRECTOR);
+        dimensions.addAll(groups);
+        if (keepRows) {
+            dimensions.add(MovieDimension.GENRE);
+            dimensions.add(MovieDimension.YEAR);
+        }
+        this.dimensions = Collections.unmodifiableSet(dimensions);
+
+        for (MovieDimension dimension : dimensions) {
+            int d = dimension.ordinal();
+            counters[d] = d == DIRECTOR ? state.counter() : new StringIntCounter();
+            pageIds[d] = new int[16][];
+            pageCounts[d] = new int[16][];
+        }
+    }
+
+    /**
+     * Upstream catalog size as reported by page 1 of the crawl that last updated this ledger.
+     */
+    public void describe(int total, int perPage, int totalPages) {
+        this.total = total;
+        this.perPage = perPage;
+        this.totalPages = totalPages;
+    }
+
+    /**
+     * Counts a page of a full crawl. A page number outside 1..totalPages or seen twice is still
+     * counted, but marks the ledger as unusable for incremental refreshes.
+     */
+    public void record(int page, List<Movie> movies) {
+        record(PageTally.of(page, movies, dimensions, keepingRows));
+    }
+
+    public void record(PageTally tally) {
+        int page = tally.getPage();
+        if (page < 1 || isRecorded(page)) {
+            consistent = false;
+            for (MovieDimension dimension : dimensions) {
+                StringIntCounter counter = counters[dimension.ordinal()];
+                for (int i = 0; i < tally.size(dimension); i++) {
+                    counter.add(tally.keyAt(dimension, i), tally.moviesAt(dimension, i));
+                }
+            }
+            return;
+        }
+        replace(tally);
+    }
+
+    /**
+     * Counts a page, replacing whatever an earlier version of the same page contributed.
+     */
+    public void replace(int page, List<Movie> movies) {
+        replace(PageTally.of(page, movies, dimensions, keepingRows));
+    }
+
+    /**
+     * Folds a page tally into the shared counts: one dictionary lookup and one add per distinct
+     * key on the page and dimension, after taking back the page's previous contribution if any.
+     */
+    public void replace(PageTally tally) {
+        int page = tally.getPage();
+        ensureCapacity(page);
+
+        int[][] globalIds = new int[MovieDimension.values().length][];
+        for (MovieDimension dimension : dimensions) {
+            int d = dimension.ordinal();
+            StringIntCounter counter = counters[d];
+
+            int[] previousIds = pageIds[d][page];
+            if (previousIds != null) {
+                int[] previousCounts = pageCounts[d][page];
+                for (int i = 0; i < previousIds.length; i++) {
+                    counter.addId(previousIds[i], -previousCounts[i]);
+                }
+            }
+
+            int size = tally.size(dimension);
+            int[] ids = size == 0 ? NO_IDS : new int[size];
+            int[] counts = size == 0 ? NO_IDS : new int[size];
+            for (int i = 0; i < size; i++) {
+                ids[i] = counter.intern(tally.keyAt(dimension, i));
+                counts[i] = tally.moviesAt(dimension, i);
+                counter.addId(ids[i], counts[i]);
+            }
+
+            pageIds[d][page] = ids;
+            pageCounts[d][page] = counts;
+            globalIds[d] = ids;
+        }
+        fingerprints[page] = tally.getFingerprint();
+
+        if (keepingRows) {
+            MovieRows rows = tally.rows();
+            pageRows[page] = rows == null ? MovieRows.EMPTY : rows.remap(
+                    globalIds[DIRECTOR],
+                    globalIds[MovieDimension.YEAR.ordinal()],
+                    globalIds[MovieDimension.GENRE.ordinal()]);
+        }
+    }
+
+    /**
+     * True when the page was recorded and its content is unchanged.
+     */
+    public boolean matches(int page, List<Movie> movies) {
+        return isRecorded(page) && fingerprints[page] == PageTally.fingerprint(movies);
+    }
+
+    /**
+     * Number of pages within 1..totalPages that have been counted.
+     */
+    public int recordedPages() {
+        int recorded = 0;
+        for (int page = 1; page <= totalPages; page++) {
+            if (isRecorded(page)) recorded++;
+        }
+        return recorded;
+    }
+
+    /**
+     * True when every page from 1 to {@code totalPages} was recorded, i.e. the counts are trustworthy
+     * as a base for an incremental refresh.
+     */
+    public boolean isComplete() {
+        return consistent && totalPages > 0 && recordedPages() == totalPages;
+    }
+
+    /**
+     * Order-sensitive hash of the fingerprints of pages 1..totalPages, so two ledgers built from the same
+     * upstream content hash the same whichever way they were crawled.
+     */
+    public long contentHash() {
+        long hash = totalPages;
+        for (int page = 1; page <= totalPages; page++) {
+            hash = hash * 0x100000001b3L ^ (isRecorded(page) ? fingerprints[page] : 0);
+        }
+        return hash;
+    }
+
+    /**
+     * Frozen copies of the counts of every dimension other than directors, for a snapshot.
+     * Keys whose count dropped to zero are left out.
+     */
+    public Map<MovieDimension, StringIntCounter> frozenGroups() {
+        Map<MovieDimension, StringIntCounter> groups = new EnumMap<>(MovieDimension.class);
+        for (MovieDimension dimension : dimensions) {
+            if (dimension != MovieDimension.DIRECTOR) {
+                groups.put(dimension, counters[dimension.ordinal()].compactCopy());
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Columnar copy of every recorded page's movies, or {@code null} when the ledger does not keep rows.
+     */
+    public MovieStore movieStore() {
+        if (!keepingRows) {
+            return null;
+        }
+        List<MovieRows> pages = new ArrayList<>();
+        for (int page = 1; page <= totalPages && page < pageRows.length; page++) {
+            if (pageRows[page] != null) pages.add(pageRows[page]);
+        }
+        return MovieStore.of(pages,
+                counters[DIRECTOR].copy(),
+                counters[MovieDimension.GENRE.ordinal()].copy(),
+                counters[MovieDimension.YEAR.ordinal()].copy());
+    }
+
+    private boolean isRecorded(int page) {
+        int[][] directorIds = pageIds[DIRECTOR];
+        return page >= 1 && page < directorIds.length && directorIds[page] != null;
+    }
+
+    private void ensureCapacity(int page) {
+        if (page < fingerprints.length) {
+            return;
+        }
+        int capacity = Math.max(page + 1, fingerprints.length + (fingerprints.length >> 1));
+        fingerprints = Arrays.copyOf(fingerprints, capacity);
+        pageRows = Arrays.copyOf(pageRows, capacity);
+        for (MovieDimension dimension : dimensions) {
+            int d = dimension.ordinal();
+            pageIds[d] = Arrays.copyOf(pageIds[d], capacity);
+            pageCounts[d] = Arrays.copyOf(pageCounts[d], capacity);
+        }
+    }
+}
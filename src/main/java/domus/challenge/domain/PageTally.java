@@ -0,0 +1,128 @@
+package domus.challenge.domain;
+
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * What one upstream page contributes, computed without touching any shared state: a local
+ * {@code key -> movies} counter per {@link MovieDimension} and a content fingerprint. Tallies of different
+ * pages can be built in parallel and folded into a {@link PageLedger} afterwards; folding adds counts, so
+ * the order in which pages are merged does not change the result.
+ * <p>
+ * When asked to, the tally also keeps every movie as a row of page-local codes ({@link MovieRows}) for the
+ * {@link MovieStore}.
+ */
+public final class PageTally {
+
+    private static final Set<MovieDimension> DIRECTOR_ONLY = Set.of(MovieDimension.DIRECTOR);
+
+    @Getter
+    private final int page;
+    @Getter
+    private final long fingerprint;
+
+    // Indexed by dimension ordinal; null for dimensions that were not tallied
+    private final StringIntCounter[] counters;
+
+    // Null unless rows were requested
+    private final MovieRows rows;
+
+    private PageTally(int page, long fingerprint, StringIntCounter[] counters, MovieRows rows) {
+        this.page = page;
+        this.fingerprint = fingerprint;
+        this.counters = counters;
+        this.rows = rows;
+    }
+
+    public static PageTally of(int page, List<Movie> movies) {
+        return of(page, movies, DIRECTOR_ONLY);
+    }
+
+    /**
+     * Tallies the page for every dimension in {@code dimensions}, in a single pass over its movies.
+     */
+    public static PageTally of(int page, List<Movie> movies, Set<MovieDimension> dimensions) {
+        return of(page, movies, dimensions, false);
+    }
+
+    /**
+     * Tallies the page for every dimension in {@code dimensions}, in a single pass over its movies, and
+     * optionally keeps the movies as rows; rows only carry the columns of dimensions that were tallied.
+     */
+    public static PageTally of(int page, List<Movie> movies, Set<MovieDimension> dimensions, boolean withRows) {
+        int expected = movies == null ? 0 : movies.size();
+        StringIntCounter[] counters = new StringIntCounter[MovieDimension.values().length];
+        for (MovieDimension dimension : dimensions) {
+            counters[dimension.ordinal()] = new StringIntCounter(expected);
+        }
+        MovieRows.Builder rows = withRows ? new MovieRows.Builder(expected) : null;
+
+        if (movies != null) {
+            for (Movie movie : movies) {
+                if (movie == null) continue;
+                for (MovieDimension dimension : dimensions) {
+                    StringIntCounter counter = counters[dimension.ordinal()];
+                    dimension.forEachKey(movie, key -> {
+                        int id = counter.intern(key);
+                        counter.incrementId(id);
+                        if (rows != null) rows.key(dimension, id);
+                    });
+                }
+                if (rows != null) rows.endRow(movie.getRated());
+            }
+        }
+        return new PageTally(page, fingerprint(movies), counters, rows == null ? null : rows.build());
+    }
+
+    /**
+     * Distinct keys on the page for the dimension, 0 when it was not tallied.
+     */
+    public int size(MovieDimension dimension) {
+        StringIntCounter counter = counters[dimension.ordinal()];
+        return counter == null ? 0 : counter.size();
+    }
+
+    public String keyAt(MovieDimension dimension, int i) {
+        return counters[dimension.ordinal()].keyAt(i);
+    }
+
+    public int moviesAt(MovieDimension dimension, int i) {
+        return counters[dimension.ordinal()].countAt(i);
+    }
+
+    MovieRows rows() {
+        return rows;
+    }
+
+    /**
+     * Order-sensitive 64-bit hash of the decoded page content, covering every attribute a dimension reads.
+     */
+    static long fingerprint(List<Movie> movies) {
+        long hash = 0xcbf29ce484222325L;
+        if (movies == null) {
+            return hash;
+        }
+        for (Movie movie : movies) {
+            hash = mix(hash, movie == null ? 0 : 1);
+            if (movie == null) continue;
+            hash = mix(hash, hashOf(movie.getTitle()));
+            hash = mix(hash, hashOf(movie.getYear()));
+            hash = mix(hash, hashOf(movie.getDirector()));
+            hash = mix(hash, hashOf(movie.getWriter()));
+            hash = mix(hash, hashOf(movie.getActors()));
+            hash = mix(hash, hashOf(movie.getGenre()));
+            hash = mix(hash, movie.getRated() == null ? 0 : movie.getRated().ordinal() + 1);
+        }
+        return hash;
+    }
+
+    private static int hashOf(String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static long mix(long hash, int value) {
+        return (hash ^ value) * 0x100000001b3L;
+    }
+}
@@ -0,0 +1,336 @@
+package domus.challenge.domain;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of row numbers, laid out like a Roaring bitmap: rows are split in chunks of 65 536 by
+ * their high 16 bits, and each chunk is stored either as a sorted {@code char[]} of its low bits (up to
+ * {@value #ARRAY_MAX} rows) or as a 1 024-word bitset. Sparse values (a rare genre) cost two bytes per
+ * row, dense ones (a common rating) one bit per row, and {@link #and}/{@link #or} work chunk by chunk
+ * with the cheapest algorithm for each pair of containers.
+ */
+public final class RowBitmap {
+
+    public static final RowBitmap EMPTY = new RowBitmap(new char[0], new Object[0], 0);
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    private final char[] keys;          // high 16 bits of the rows in each chunk, ascending
+    private final Object[] containers;  // char[] (sorted low bits) or long[BITMAP_WORDS]
+    private final int cardinality;
+
+    private RowBitmap(char[] keys, Object[] containers, int cardinality) {
+        this.keys = keys;
+        this.containers = containers;
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * Every row from 0 to {@code size - 1}.
+     */
+    public static RowBitmap range(int size) {
+        Builder builder = new Builder();
+        for (int row = 0; row < size; row++) {
+            builder.add(row);
+        }
+        return builder.build();
+    }
+
+    public int cardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+
+    /**
+     * Approximate heap used by the containers.
+     */
+    public long estimatedBytes() {
+        long bytes = 2L * keys.length + 8L * containers.length;
+        for (Object container : containers) {
+            bytes += container instanceof long[] bits ? 8L * bits.length : 2L * ((char[]) container).length;
+        }
+        return bytes;
+    }
+
+    public boolean contains(int row) {
+        int chunk = Arrays.binarySearch(keys, (char) (row >>> 16));
+        if (chunk < 0) {
+            return false;
+        }
+        char low = (char) row;
+        return containers[chunk] instanceof long[] bits
+                ? (bits[low >>> 6] & (1L << low)) != 0
+                : Arrays.binarySearch((char[]) containers[chunk], low) >= 0;
+    }
+
+    /**
+     * Hands every row to {@code action}, ascending.
+     */
+    public void forEach(IntConsumer action) {
+        for (int chunk = 0; chunk < keys.length; chunk++) {
+            int high = keys[chunk] << 16;
+            if (containers[chunk] instanceof long[] bits) {
+                for (int word = 0; word < bits.length; word++) {
+                    long w = bits[word];
+                    while (w != 0) {
+                        action.accept(high | (word << 6) | Long.numberOfTrailingZeros(w));
+                        w &= w - 1;
+                    }
+                }
+            } else {
+                for (char low : (char[]) containers[chunk]) {
+                    action.accept(high | low);
+                }
+            }
+        }
+    }
+
+    public RowBitmap and(RowBitmap other) {
+        char[] andKeys = new char[Math.min(keys.length, other.keys.length)];
+        Object[] andContainers = new Object[andKeys.length];
+        int size = 0;
+        int total = 0;
+        for (int i = 0, j = 0; i < keys.length && j < other.keys.length; ) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Object container = and(containers[i], other.containers[j]);
+                int count = count(container);
+                if (count > 0) {
+                    andKeys[size] = keys[i];
+                    andContainers[size++] = container;
+                    total += count;
+                }
+                i++;
+                j++;
+            }
+        }
+        return new RowBitmap(Arrays.copyOf(andKeys, size), Arrays.copyOf(andContainers, size), total);
+    }
+
+    public RowBitmap or(RowBitmap other) {
+        char[] orKeys = new char[keys.length + other.keys.length];
+        Object[] orContainers = new Object[orKeys.length];
+        int size = 0;
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < keys.length || j < other.keys.length) {
+            Object container;
+            char key;
+            if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+                key = keys[i];
+                container = containers[i++];
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                key = other.keys[j];
+                container = other.containers[j++];
+            } else {
+                key = keys[i];
+                container = or(containers[i++], other.containers[j++]);
+            }
+            orKeys[size] = key;
+            orContainers[size++] = container;
+            total += count(container);
+        }
+        return new RowBitmap(Arrays.copyOf(orKeys, size), Arrays.copyOf(orContainers, size), total);
+    }
+
+    private static Object and(Object a, Object b) {
+        if (a instanceof long[] x && b instanceof long[] y) {
+            long[] bits = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                bits[w] = x[w] & y[w];
+                count += Long.bitCount(bits[w]);
+            }
+            return shrink(bits, count);
+        }
+        if (a instanceof long[] x) {
+            return filter((char[]) b, x);
+        }
+        if (b instanceof long[] y) {
+            return filter((char[]) a, y);
+        }
+        char[] x = (char[]) a;
+        char[] y = (char[]) b;
+        char[] both = new char[Math.min(x.length, y.length)];
+        int size = 0;
+        for (int i = 0, j = 0; i < x.length && j < y.length; ) {
+            if (x[i] < y[j]) {
+                i++;
+            } else if (x[i] > y[j]) {
+                j++;
+            } else {
+                both[size++] = x[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(both, size);
+    }
+
+    private static Object or(Object a, Object b) {
+        if (a instanceof char[] x && b instanceof char[] y && x.length + y.length <= ARRAY_MAX) {
+            char[] merged = new char[x.length + y.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.length || j < y.length) {
+                if (j == y.length || (i < x.length && x[i] < y[j])) {
+                    merged[size++] = x[i++];
+                } else if (i == x.length || x[i] > y[j]) {
+                    merged[size++] = y[j++];
+                } else {
+                    merged[size++] = x[i++];
+                    j++;
+                }
+            }
+            return Arrays.copyOf(merged, size);
+        }
+        long[] bits = toBits(a);
+        if (b instanceof long[] y) {
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                bits[w] |= y[w];
+            }
+        } else {
+            for (char low : (char[]) b) {
+                bits[low >>> 6] |= 1L << low;
+            }
+        }
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return shrink(bits, count);
+    }
+
+    private static char[] filter(char[] lows, long[] bits) {
+        char[] kept = new char[lows.length];
+        int size = 0;
+        for (char low : lows) {
+            if ((bits[low >>> 6] & (1L << low)) != 0) {
+                kept[size++] = low;
+            }
+        }
+        return Arrays.copyOf(kept, size);
+    }
+
+    private static long[] toBits(Object container) {
+        if (container instanceof long[] bits) {
+            return bits.clone();
+        }
+        long[] bits = new long[BITMAP_WORDS];
+        for (char low : (char[]) container) {
+            bits[low >>> 6] |= 1L << low;
+        }
+        return bits;
+    }
+
+    // Bitsets that fell to array size go back to the compact form
+    private static Object shrink(long[] bits, int count) {
+        if (count > ARRAY_MAX) {
+            return bits;
+        }
+        char[] lows = new char[count];
+        int size = 0;
+        for (int word = 0; word < bits.length; word++) {
+            long w = bits[word];
+            while (w != 0) {
+                lows[size++] = (char) ((word << 6) | Long.numberOfTrailingZeros(w));
+                w &= w - 1;
+            }
+        }
+        return lows;
+    }
+
+    private static int count(Object container) {
+        if (container instanceof char[] lows) {
+            return lows.length;
+        }
+        int count = 0;
+        for (long word : (long[]) container) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Collects rows added in ascending order; a chunk switches from array to bitset when it outgrows
+     * {@value #ARRAY_MAX} rows.
+     */
+    public static final class Builder {
+
+        private char[] keys = new char[4];
+        private Object[] containers = new Object[4];
+        private int chunks;
+        private int cardinality;
+        private int last = -1;
+
+        private char[] lows = new char[16];
+        private long[] bits;
+        private int lowCount;
+
+        public Builder add(int row) {
+            if (row <= last) {
+                throw new IllegalArgumentException("Rows must be added in ascending order: " + row + " after " + last);
+            }
+            char key = (char) (row >>> 16);
+            if (last < 0 || key != (char) (last >>> 16)) {
+                closeChunk();
+                openChunk(key);
+            }
+            char low = (char) row;
+            if (bits != null) {
+                bits[low >>> 6] |= 1L << low;
+            } else if (lowCount == ARRAY_MAX) {
+                bits = toBits(Arrays.copyOf(lows, lowCount));
+                bits[low >>> 6] |= 1L << low;
+            } else {
+                if (lowCount == lows.length) lows = Arrays.copyOf(lows, lowCount * 2);
+                lows[lowCount] = low;
+            }
+            lowCount++;
+            cardinality++;
+            last = row;
+            return this;
+        }
+
+        /**
+         * Same as {@link #add} but ignores the row just added.
+         */
+        public Builder addIfAbsent(int row) {
+            return row == last ? this : add(row);
+        }
+
+        public RowBitmap build() {
+            closeChunk();
+            return new RowBitmap(Arrays.copyOf(keys, chunks), Arrays.copyOf(containers, chunks), cardinality);
+        }
+
+        private void openChunk(char key) {
+            if (chunks == keys.length) {
+                keys = Arrays.copyOf(keys, chunks * 2);
+                containers = Arrays.copyOf(containers, chunks * 2);
+            }
+            keys[chunks] = key;
+            lowCount = 0;
+            bits = null;
+        }
+
+        private void closeChunk() {
+            if (lowCount == 0) {
+                return;
+            }
+            containers[chunks++] = bits != null ? bits : Arrays.copyOf(lows, lowCount);
+            lowCount = 0;
+            bits = null;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package domus.challenge.domain;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open-addressing {@code String -> int} counter without boxing.
+ * <p>
+ * Every distinct key gets a dense id (0, 1, 2...) in insertion order, so callers can dictionary-encode
+ * keys once with {@link #intern(String)} and count them afterwards with {@link #incrementId(int)}.
+ * Keys, cached hashes and counts live in parallel arrays indexed by id; the probe table only stores ids.
+ * Not thread-safe.
+ */
+public final class StringIntCounter {
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int EMPTY = -1;
+
+    private String[] keys;
+    private int[] hashes;
+    private int[] counts;
+    private int[] table;
+    private int mask;
+    private int size;
+
+    public StringIntCounter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StringIntCounter(int expectedKeys) {
+        int capacity = Math.max(DEFAULT_CAPACITY, expectedKeys);
+        this.keys = new String[capacity];
+        this.hashes = new int[capacity];
+        this.counts = new int[capacity];
+        this.table = newTable(tableSizeFor(capacity));
+        this.mask = table.length - 1;
+    }
+
+    /**
+     * Adds one to the key's count and returns the new count.
+     */
+    public int increment(String key) {
+        int id = intern(key); // may grow counts, so resolve the id before indexing
+        return ++counts[id];
+    }
+
+    /**
+     * Adds one to the count of an id previously returned by {@link #intern(String)}.
+     */
+    public int incrementId(int id) {
+        return ++counts[id];
+    }
+
+    /**
+     * Adds {@code delta} to the count of an id previously returned by {@link #intern(String)}.
+     */
+    public int addId(int id, int delta) {
+        return counts[id] += delta;
+    }
+
+    /**
+     * Adds {@code delta} to the key's count and returns the new count.
+     */
+    public int add(String key, int delta) {
+        int id = intern(key);
+        return counts[id] += delta;
+    }
+
+    /**
+     * Returns the dense id of {@code key}, registering it with a zero count if absent.
+     */
+    public int intern(String key) {
+        int hash = mix(key.hashCode());
+        int slot = hash & mask;
+
+        int id;
+        while ((id = table[slot]) != EMPTY) {
+            if (hashes[id] == hash && keys[id].equals(key)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        id = size;
+        if (id == keys.length) {
+            growEntries();
+        }
+        keys[id] = key;
+        hashes[id] = hash;
+        table[slot] = id;
+        size++;
+
+        if (size * 2 > table.length) {
+            rehash(table.length << 1);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of {@code key}, or {@code -1} when it was never counted.
+     */
+    public int idOf(String key) {
+        int hash = mix(key.hashCode());
+        int slot = hash & mask;
+
+        int id;
+        while ((id = table[slot]) != EMPTY) {
+            if (hashes[id] == hash && keys[id].equals(key)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    public int get(String key) {
+        int id = idOf(key);
+        return id == EMPTY ? 0 : counts[id];
+    }
+
+    public String keyAt(int id) {
+        return keys[id];
+    }
+
+    public int countAt(int id) {
+        return counts[id];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int id = 0; id < size; id++) {
+            action.accept(keys[id], counts[id]);
+        }
+    }
+
+    /**
+     * Independent copy sized to the current content; later changes to this counter do not leak into it.
+     */
+    public StringIntCounter copy() {
+        StringIntCounter copy = new StringIntCounter(size);
+        System.arraycopy(keys, 0, copy.keys, 0, size);
+        System.arraycopy(hashes, 0, copy.hashes, 0, size);
+        System.arraycopy(counts, 0, copy.counts, 0, size);
+        copy.size = size;
+        copy.rehash(copy.table.length);
+        return copy;
+    }
+
+    /**
+     * Like {@link #copy()} but leaves out keys whose count dropped to zero or below; ids are reassigned.
+     */
+    public StringIntCounter compactCopy() {
+        int live = 0;
+        for (int id = 0; id < size; id++) {
+            if (counts[id] > 0) live++;
+        }
+        if (live == size) {
+            return copy();
+        }
+
+        StringIntCounter copy = new StringIntCounter(live);
+        for (int id = 0; id < size; id++) {
+            if (counts[id] > 0) {
+                copy.add(keys[id], counts[id]);
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Read-only {@link Map} view; values are boxed lazily, only when read.
+     */
+    public Map<String, Integer> asMap() {
+        return new CountsView(this);
+    }
+
+    private void growEntries() {
+        int capacity = keys.length + (keys.length >> 1);
+        keys = Arrays.copyOf(keys, capacity);
+        hashes = Arrays.copyOf(hashes, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+    }
+
+    private void rehash(int tableSize) {
+        int[] rehashed = newTable(tableSize);
+        int newMask = tableSize - 1;
+
+        for (int id = 0; id < size; id++) {
+            int slot = hashes[id] & newMask;
+            while (rehashed[slot] != EMPTY) {
+                slot = (slot + 1) & newMask;
+            }
+            rehashed[slot] = id;
+        }
+
+        table = rehashed;
+        mask = newMask;
+    }
+
+    private static int[] newTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, EMPTY);
+        return table;
+    }
+
+    private static int tableSizeFor(int expectedKeys) {
+        int size = Integer.highestOneBit(Math.max(1, expectedKeys * 2 - 1)) << 1;
+        return Math.max(DEFAULT_CAPACITY * 2, size);
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static final class CountsView extends AbstractMap<String, Integer> {
+
+        private final StringIntCounter counter;
+
+        private CountsView(StringIntCounter counter) {
+            this.counter = counter;
+        }
+
+        @Override
+        public int size() {
+            return counter.size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof String s && counter.idOf(s) != EMPTY;
+        }
+
+        @Override
+        public Integer get(Object key) {
+            if (!(key instanceof String s)) return null;
+            int id = counter.idOf(s);
+            return id == EMPTY ? null : counter.counts[id];
+        }
+
+        @Override
+        public Set<Entry<String, Integer>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public int size() {
+                    return counter.size;
+                }
+
+                @Override
+                public Iterator<Entry<String, Integer>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < counter.size;
+                        }
+
+                        @Override
+                        public Entry<String, Integer> next() {
+                            if (!hasNext()) throw new NoSuchElementException();
+                            int id = next++;
+                            return new SimpleImmutableEntry<>(counter.keys[id], counter.counts[id]);
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package domus.challenge.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks the {@code k} highest counts out of a {@link StringIntCounter} with a bounded min-heap of ids:
+ * O(n log k) time and O(k) extra space, without sorting the whole counter.
+ * Ties are broken by name, so the result is deterministic.
+ */
+public final class TopKSelector {
+
+    private TopKSelector() {
+    }
+
+    /**
+     * Up to {@code k} directors, most movies first and then by name.
+     */
+    public static List<DirectorCount> top(StringIntCounter counts, int k) {
+        int size = Math.min(k, counts.size());
+        if (size <= 0) {
+            return List.of();
+        }
+
+        // heap[0] is the weakest of the current top-k
+        int[] heap = new int[size];
+        int filled = 0;
+        for (int id = 0; id < counts.size(); id++) {
+            if (filled < size) {
+                heap[filled] = id;
+                siftUp(counts, heap, filled++);
+            } else if (ranksAbove(counts, id, heap[0])) {
+                heap[0] = id;
+                siftDown(counts, heap, 0, size);
+            }
+        }
+
+        // Pop the weakest to the end: the array ends up strongest-first
+        for (int end = size - 1; end > 0; end--) {
+            int weakest = heap[0];
+            heap[0] = heap[end];
+            heap[end] = weakest;
+            siftDown(counts, heap, 0, end);
+        }
+
+        List<DirectorCount> result = new ArrayList<>(size);
+        for (int id : heap) {
+            result.add(new DirectorCount(counts.keyAt(id), counts.countAt(id)));
+        }
+        return result;
+    }
+
+    // Higher count wins; on equal counts the alphabetically smaller name wins
+    private static boolean ranksAbove(StringIntCounter counts, int a, int b) {
+        int byCount = Integer.compare(counts.countAt(a), counts.countAt(b));
+        if (byCount != 0) {
+            return byCount > 0;
+        }
+        return counts.keyAt(a).compareTo(counts.keyAt(b)) < 0;
+    }
+
+    private static void siftUp(StringIntCounter counts, int[] heap, int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!ranksAbove(counts, heap[parent], id)) break;
+            heap[i] = heap[parent];
+            i = parent;
+        }
+        heap[i] = id;
+    }
+
+    private static void siftDown(StringIntCounter counts, int[] heap, int i, int size) {
+        int id = heap[i];
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && ranksAbove(counts, heap[child], heap[child + 1])) child++;
+            if (!ranksAbove(counts, id, heap[child])) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = id;
+    }
+}
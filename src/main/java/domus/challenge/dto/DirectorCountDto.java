@@ -0,0 +1,13 @@
+package domus.challenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class DirectorCountDto {
+    private String director;
+    private int movies;
+}
@@ -0,0 +1,19 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonPropertyOrder({"director", "movies"})
+public class DirectorResponseDto extends SnapshotResponseDto {
+
+    // Name as counted, which may differ in case from the one requested
+    private String director;
+    private int movies;
+}
@@ -0,0 +1,22 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonPropertyOrder({"prefix", "directors"})
+public class DirectorSearchResponseDto extends SnapshotResponseDto {
+
+    private String prefix;
+
+    // Directors whose name starts with the prefix (ignoring case), in name order, at most limit of them
+    private List<DirectorCountDto> directors;
+}
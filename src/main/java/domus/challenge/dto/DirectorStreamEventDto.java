@@ -0,0 +1,46 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * One element of the streaming directors response: either a director that crossed the
+ * threshold ({@code type = "director"}) or the final summary ({@code type = "complete"}).
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DirectorStreamEventDto {
+
+    public static final String DIRECTOR = "director";
+    public static final String COMPLETE = "complete";
+
+    private String type;
+
+    // director events
+    private String director;
+    private Integer movies;
+
+    // complete event
+    private Integer directorsFound;
+    private Integer pagesFetched;
+    private Long elapsedMs;
+    private Boolean fromSnapshot;
+
+    public static DirectorStreamEventDto director(String director, int movies) {
+        return DirectorStreamEventDto.builder().type(DIRECTOR).director(director).movies(movies).build();
+    }
+
+    public static DirectorStreamEventDto complete(int directorsFound, Integer pagesFetched, long elapsedMs, boolean fromSnapshot) {
+        return DirectorStreamEventDto.builder()
+                .type(COMPLETE)
+                .directorsFound(directorsFound)
+                .pagesFetched(pagesFetched)
+                .elapsedMs(elapsedMs)
+                .fromSnapshot(fromSnapshot)
+                .build();
+    }
+}
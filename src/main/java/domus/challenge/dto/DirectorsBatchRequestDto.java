@@ -0,0 +1,21 @@
+package domus.challenge.dto;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectorsBatchRequestDto {
+
+    @NotEmpty(message = "At least one threshold is required")
+    @Size(max = 50, message = "At most 50 thresholds per request")
+    private List<@NotNull @Min(value = 0, message = "Threshold must be a positive integer") Integer> thresholds;
+}
@@ -0,0 +1,20 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonPropertyOrder("results")
+public class DirectorsBatchResponseDto extends SnapshotResponseDto {
+
+    // One entry per distinct requested threshold, in request order
+    private List<ThresholdDirectorsDto> results;
+}
@@ -1,13 +1,18 @@
 package domus.challenge.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Builder;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
 import java.util.List;
 
 @Data
-@Builder
-@AllArgsConstructor
-public class DirectorsResponseDto {
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonPropertyOrder("directors")
+public class DirectorsResponseDto extends SnapshotResponseDto {
     private List<String> directors;
 }
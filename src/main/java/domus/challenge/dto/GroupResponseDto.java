@@ -0,0 +1,23 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonPropertyOrder({"group", "values"})
+public class GroupResponseDto extends SnapshotResponseDto {
+
+    // Dimension the values belong to, e.g. "writers" or "genres"
+    private String group;
+
+    // Values with more movies than the threshold, sorted
+    private List<String> values;
+}
@@ -0,0 +1,38 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+import lombok.experimental.SuperBuilder;
+
+import java.time.Instant;
+
+/**
+ * What every answer built from a director snapshot says about that snapshot. Completeness goes in the body;
+ * age, staleness and version go in headers (see {@code SnapshotResponses}).
+ */
+@Data
+@SuperBuilder
+public abstract class SnapshotResponseDto {
+
+    // Pages counted out of the pages the upstream reported; complete is false when pages were dropped or
+    // the crawl hit movie.api.crawl-deadline. Omitted for answers that did not need any counts.
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer pagesFetched;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer pagesTotal;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean complete;
+
+    // Time the underlying counts were crawled; exposed as response headers, not in the body
+    @JsonIgnore
+    private Instant generatedAt;
+
+    // Version of the snapshot behind the answer; exposed as the ETag header
+    @JsonIgnore
+    private Long snapshotVersion;
+
+    // Served from an outdated snapshot because the upstream could not be crawled; exposed as a header
+    @JsonIgnore
+    private boolean stale;
+}
@@ -0,0 +1,15 @@
+package domus.challenge.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+public class ThresholdDirectorsDto {
+    private int threshold;
+    private List<String> directors;
+}
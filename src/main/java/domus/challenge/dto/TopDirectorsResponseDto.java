@@ -0,0 +1,20 @@
+package domus.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@Data
+@SuperBuilder
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonPropertyOrder("directors")
+public class TopDirectorsResponseDto extends SnapshotResponseDto {
+
+    // Most movies first, ties by name
+    private List<DirectorCountDto> directors;
+}
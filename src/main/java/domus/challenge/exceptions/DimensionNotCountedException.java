@@ -0,0 +1,8 @@
+package domus.challenge.exceptions;
+
+public class DimensionNotCountedException extends RuntimeException {
+
+    public DimensionNotCountedException(String message) {
+        super(message);
+    }
+}
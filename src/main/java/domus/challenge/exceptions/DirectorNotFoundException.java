@@ -0,0 +1,8 @@
+package domus.challenge.exceptions;
+
+public class DirectorNotFoundException extends RuntimeException {
+
+    public DirectorNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package domus.challenge.exceptions;
+
+public class ExternalCircuitOpenException extends ExternalServiceUnavailableException {
+
+    public ExternalCircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package domus.challenge.exceptions;
+
+public class ExternalTooManyRequestsException extends ExternalClientException {
+
+    public ExternalTooManyRequestsException(String message) {
+        super(message);
+    }
+
+    public ExternalTooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -23,11 +23,21 @@ public class GlobalErrorHandler {
         return build(HttpStatus.BAD_REQUEST, "External API rejected the request", ex);
     }
 
+    @ExceptionHandler(ExternalTooManyRequestsException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleTooManyRequests(ExternalTooManyRequestsException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, "External API is throttling requests", ex);
+    }
+
     @ExceptionHandler(ExternalServerException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleServer(ExternalServerException ex) {
         return build(HttpStatus.BAD_GATEWAY, "External API has internal errors", ex);
     }
 
+    @ExceptionHandler(ExternalCircuitOpenException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleCircuitOpen(ExternalCircuitOpenException ex) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, "External API circuit is open", ex);
+    }
+
     @ExceptionHandler(ExternalServiceUnavailableException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleUnavailable(ExternalServiceUnavailableException ex) {
         return build(HttpStatus.SERVICE_UNAVAILABLE, "External service unreachable", ex);
@@ -39,6 +49,20 @@ public class GlobalErrorHandler {
     }
 
 
+    // =================================================
+    // NOT FOUND (404)
+    // =================================================
+    @ExceptionHandler(DimensionNotCountedException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleDimensionNotCounted(DimensionNotCountedException ex) {
+        return build(HttpStatus.NOT_FOUND, "Dimension is not counted", ex);
+    }
+
+    @ExceptionHandler(DirectorNotFoundException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleDirectorNotFound(DirectorNotFoundException ex) {
+        return build(HttpStatus.NOT_FOUND, "Director not found", ex);
+    }
+
+
     // =================================================
     // INPUT / VALIDATION ERRORS (400)
     // =================================================
@@ -57,6 +81,11 @@ public class GlobalErrorHandler {
         );
     }
 
+    @ExceptionHandler(MovieFilterUnavailableException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handleFilterUnavailable(MovieFilterUnavailableException ex) {
+        return build(HttpStatus.BAD_REQUEST, "Movie filters are not available", ex);
+    }
+
     @ExceptionHandler({
             MethodArgumentTypeMismatchException.class,
             MissingRequestValueException.class,
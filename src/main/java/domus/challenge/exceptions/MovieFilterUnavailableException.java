@@ -0,0 +1,8 @@
+package domus.challenge.exceptions;
+
+public class MovieFilterUnavailableException extends RuntimeException {
+
+    public MovieFilterUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,25 @@
+package domus.challenge.exceptions;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Recognizes an upstream timeout however deep it is wrapped.
+ * <p>
+ * Reactor's {@code timeout()} raises {@link TimeoutException}; Reactor Netty's response and read timeouts
+ * raise {@link io.netty.handler.timeout.TimeoutException} (a {@code ChannelException}), which WebClient
+ * usually wraps in a {@code WebClientRequestException}. Both count, anywhere in the cause chain.
+ */
+public final class UpstreamTimeouts {
+
+    private UpstreamTimeouts() {
+    }
+
+    public static boolean isTimeout(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
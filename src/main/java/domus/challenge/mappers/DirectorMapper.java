@@ -1,9 +1,19 @@
 package domus.challenge.mappers;
 
+import domus.challenge.domain.DirectorCount;
+import domus.challenge.dto.DirectorCountDto;
+import domus.challenge.dto.DirectorResponseDto;
+import domus.challenge.dto.DirectorSearchResponseDto;
+import domus.challenge.dto.DirectorsBatchResponseDto;
 import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.dto.GroupResponseDto;
+import domus.challenge.dto.ThresholdDirectorsDto;
+import domus.challenge.dto.TopDirectorsResponseDto;
 import org.mapstruct.Mapper;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 
 @Mapper(componentModel = "spring")
 public interface DirectorMapper {
@@ -12,4 +22,48 @@ public interface DirectorMapper {
         if (directors == null) return null;
         return DirectorsResponseDto.builder().directors(directors).build();
     }
+
+    default DirectorsResponseDto toResponse(List<String> directors, Instant generatedAt) {
+        if (directors == null) return null;
+        return DirectorsResponseDto.builder().directors(directors).generatedAt(generatedAt).build();
+    }
+
+    default DirectorsBatchResponseDto toBatchResponse(Map<Integer, List<String>> directorsByThreshold, Instant generatedAt) {
+        if (directorsByThreshold == null) return null;
+        List<ThresholdDirectorsDto> results = directorsByThreshold.entrySet().stream()
+                .map(e -> ThresholdDirectorsDto.builder().threshold(e.getKey()).directors(e.getValue()).build())
+                .toList();
+        return DirectorsBatchResponseDto.builder().results(results).generatedAt(generatedAt).build();
+    }
+
+    default DirectorCountDto toDto(DirectorCount directorCount) {
+        if (directorCount == null) return null;
+        return DirectorCountDto.builder().director(directorCount.getDirector()).movies(directorCount.getMovies()).build();
+    }
+
+    default TopDirectorsResponseDto toTopResponse(List<DirectorCount> top, Instant generatedAt) {
+        if (top == null) return null;
+        List<DirectorCountDto> directors = top.stream().map(this::toDto).toList();
+        return TopDirectorsResponseDto.builder().directors(directors).generatedAt(generatedAt).build();
+    }
+
+    default DirectorResponseDto toDirectorResponse(DirectorCount directorCount, Instant generatedAt) {
+        if (directorCount == null) return null;
+        return DirectorResponseDto.builder()
+                .director(directorCount.getDirector())
+                .movies(directorCount.getMovies())
+                .generatedAt(generatedAt)
+                .build();
+    }
+
+    default DirectorSearchResponseDto toSearchResponse(String prefix, List<DirectorCount> matches, Instant generatedAt) {
+        if (matches == null) return null;
+        List<DirectorCountDto> directors = matches.stream().map(this::toDto).toList();
+        return DirectorSearchResponseDto.builder().prefix(prefix).directors(directors).generatedAt(generatedAt).build();
+    }
+
+    default GroupResponseDto toGroupResponse(String group, List<String> values, Instant generatedAt) {
+        if (values == null) return null;
+        return GroupResponseDto.builder().group(group).values(values).generatedAt(generatedAt).build();
+    }
 }
@@ -0,0 +1,170 @@
+package domus.challenge.metrics;
+
+import domus.challenge.exceptions.ExternalClientException;
+import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.exceptions.ExternalTooManyRequestsException;
+import domus.challenge.exceptions.UpstreamTimeouts;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Micrometer meters describing the upstream crawl pipeline.
+ */
+@Component
+public class CrawlMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Counter crawlsStarted;
+    private final Counter crawlsJoined;
+    private final Counter pagesDropped;
+    private final Counter staleServed;
+    private final Counter crawlsTruncated;
+    private final Counter notModified;
+    private final DistributionSummary pagesPerCrawl;
+    private final DistributionSummary directorsPerCrawl;
+    private final DistributionSummary responseDirectors;
+    private final AtomicInteger snapshotDirectors = new AtomicInteger();
+    private final AtomicLong movieStoreBytes = new AtomicLong();
+
+    public CrawlMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.crawlsStarted = Counter.builder("directors.crawl.started")
+                .description("Upstream crawls started")
+                .register(registry);
+        this.crawlsJoined = Counter.builder("directors.crawl.joined")
+                .description("Callers that joined a crawl already in flight")
+                .register(registry);
+        this.pagesDropped = Counter.builder("directors.crawl.pages.dropped")
+                .description("Pages skipped after failing every retry")
+                .register(registry);
+        this.staleServed = Counter.builder("directors.response.stale")
+                .description("Responses served from the last good snapshot because the crawl failed")
+                .register(registry);
+        this.crawlsTruncated = Counter.builder("directors.crawl.truncated")
+                .description("Crawls cut short by the crawl deadline and answered with partial counts")
+                .register(registry);
+        this.notModified = Counter.builder("directors.response.not_modified")
+                .description("Conditional requests answered 304 from the snapshot version, without building a body")
+                .register(registry);
+        this.pagesPerCrawl = DistributionSummary.builder("directors.crawl.pages")
+                .description("Pages fetched per crawl")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.directorsPerCrawl = DistributionSummary.builder("directors.crawl.directors")
+                .description("Distinct directors counted per crawl")
+                .register(registry);
+        this.responseDirectors = DistributionSummary.builder("directors.response.directors")
+                .description("Directors returned per response")
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("directors.snapshot.directors", snapshotDirectors, AtomicInteger::get)
+                .description("Distinct directors in the current snapshot")
+                .register(registry);
+        Gauge.builder("directors.snapshot.store.bytes", movieStoreBytes, AtomicLong::get)
+                .description("Approximate heap held by the columnar movie store of the current snapshot")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    public void crawlStarted() {
+        crawlsStarted.increment();
+    }
+
+    public void crawlJoined() {
+        crawlsJoined.increment();
+    }
+
+    public void pageDropped() {
+        pagesDropped.increment();
+    }
+
+    public void staleServed() {
+        staleServed.increment();
+    }
+
+    public void crawlTruncated() {
+        crawlsTruncated.increment();
+    }
+
+    public Timer.Sample startTimer() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * One upstream page attempt; retries of the same page are recorded with increasing {@code attempt}.
+     */
+    public void pageFetched(Timer.Sample sample, String status, int attempt) {
+        sample.stop(Timer.builder("movie.api.page.latency")
+                .description("Latency of a single upstream page request")
+                .tag("status", status)
+                .tag("attempt", Integer.toString(attempt))
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    public void crawlCompleted(Timer.Sample sample, int pages, int directors) {
+        stopCrawl(sample, "success");
+        pagesPerCrawl.record(pages);
+        directorsPerCrawl.record(directors);
+    }
+
+    public void crawlFailed(Timer.Sample sample, int pages) {
+        stopCrawl(sample, "error");
+        pagesPerCrawl.record(pages);
+    }
+
+    /**
+     * How a crawl counted the catalog: {@code full} or {@code incremental}.
+     */
+    public void crawlMode(String mode) {
+        Counter.builder("directors.crawl.mode")
+                .description("Completed crawls by counting mode")
+                .tag("mode", mode)
+                .register(registry)
+                .increment();
+    }
+
+    public void snapshotPublished(int directors, long storeBytes) {
+        snapshotDirectors.set(directors);
+        movieStoreBytes.set(storeBytes);
+    }
+
+    public void notModified() {
+        notModified.increment();
+    }
+
+    public void responseBuilt(int directors) {
+        responseDirectors.record(directors);
+    }
+
+    /**
+     * Low-cardinality status tag for a failed page attempt.
+     */
+    public static String statusOf(Throwable error) {
+        if (error instanceof ExternalTooManyRequestsException) return "429";
+        if (error instanceof ExternalClientException) return "4xx";
+        if (error instanceof ExternalServerException) return "5xx";
+        if (error instanceof PrematureCloseException) return "PREMATURE_CLOSE";
+        if (UpstreamTimeouts.isTimeout(error)) return "TIMEOUT";
+        if (error instanceof DecodingException) return "DECODE_ERROR";
+        return "IO_ERROR";
+    }
+
+    private void stopCrawl(Timer.Sample sample, String outcome) {
+        sample.stop(Timer.builder("directors.crawl.duration")
+                .description("Duration of a full upstream crawl")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
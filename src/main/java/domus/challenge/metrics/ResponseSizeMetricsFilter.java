@@ -0,0 +1,67 @@
+package domus.challenge.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records the body size of every {@code /api/**} response in {@code http.server.response.size},
+ * tagged with the matched route pattern.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResponseSizeMetricsFilter implements WebFilter {
+
+    private final MeterRegistry registry;
+
+    @Override
+    @NonNull
+    public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+        if (!exchange.getRequest().getPath().value().startsWith("/api/")) {
+            return chain.filter(exchange);
+        }
+
+        AtomicLong bytes = new AtomicLong();
+        ServerHttpResponseDecorator counting = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            @NonNull
+            public Mono<Void> writeWith(@NonNull Publisher<? extends DataBuffer> body) {
+                return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+            }
+
+            @Override
+            @NonNull
+            public Mono<Void> writeAndFlushWith(@NonNull Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                return super.writeAndFlushWith(Flux.from(body).map(chunk ->
+                        Flux.from(chunk).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+            }
+        };
+
+        return chain.filter(exchange.mutate().response(counting).build())
+                .doFinally(signal -> DistributionSummary.builder("http.server.response.size")
+                        .description("Response body size")
+                        .baseUnit("bytes")
+                        .tag("uri", routeOf(exchange))
+                        .publishPercentileHistogram()
+                        .register(registry)
+                        .record(bytes.get()));
+    }
+
+    private static String routeOf(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "UNKNOWN";
+    }
+}
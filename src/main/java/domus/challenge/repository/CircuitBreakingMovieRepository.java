@@ -0,0 +1,28 @@
+package domus.challenge.repository;
+
+import domus.challenge.dto.MoviePageResponseDto;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link MovieRepository} seen by the service: every page request goes through the
+ * {@link UpstreamCircuitBreaker}, so an unhealthy upstream is rejected fast instead of retried.
+ * <p>
+ * The breaker wraps the whole logical call, after the delegate's budgeted retries: it records one
+ * outcome per page request, not one per attempt.
+ */
+@Repository
+@Primary
+@AllArgsConstructor
+public class CircuitBreakingMovieRepository implements MovieRepository {
+
+    private final MovieRepositoryImpl delegate;
+    private final UpstreamCircuitBreaker circuitBreaker;
+
+    @Override
+    public Mono<MoviePageResponseDto> getMovies(int page) {
+        return circuitBreaker.protect(() -> delegate.getMovies(page));
+    }
+}
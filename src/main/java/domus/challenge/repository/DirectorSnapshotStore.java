@@ -0,0 +1,194 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.DirectorSnapshot;
+import domus.challenge.domain.StringIntCounter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Persists the director snapshot to a compact binary file so a restart can answer from the
+ * last crawl instead of paying for a cold one.
+ * <p>
+ * Layout (big-endian):
+ * <pre>
+ * header   magic "DSNP" (int) | version (short) | reserved (short) | createdAt epoch millis (long)
+ *          | totalMovies (int) | totalPages (int) | directors (int) | payload length (int)
+ * payload  per director: count (int) | name length (short) | UTF-8 name bytes
+ * trailer  CRC32C of header + payload (int)
+ * </pre>
+ * Files are written to a sibling temp file and atomically moved into place, and read back through
+ * a read-only memory mapping. A wrong magic, version, length or checksum is reported as empty.
+ */
+@Component
+@AllArgsConstructor
+@Slf4j
+public class DirectorSnapshotStore {
+
+    static final int MAGIC = 0x44534E50; // "DSNP"
+    static final short VERSION = 1;
+
+    private static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + 4 + 4 + 4;
+    private static final int TRAILER_BYTES = 4;
+
+    private final MovieApiConfig movieApiConfig;
+
+    public boolean isEnabled() {
+        return movieApiConfig.getSnapshotFile() != null;
+    }
+
+    public void save(DirectorSnapshot snapshot) throws IOException {
+        Path file = movieApiConfig.getSnapshotFile();
+        if (file == null) return;
+
+        byte[] bytes = encode(snapshot);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+
+        Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+
+        log.info("Director snapshot persisted to {} ({} directors, {} bytes)", file, snapshot.getCounts().size(), bytes.length);
+    }
+
+    public Optional<DirectorSnapshot> load() {
+        Path file = movieApiConfig.getSnapshotFile();
+        if (file == null) return Optional.empty();
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES + TRAILER_BYTES || size > Integer.MAX_VALUE) {
+                log.warn("Ignoring director snapshot {}: unexpected size {}", file, size);
+                return Optional.empty();
+            }
+
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Optional<DirectorSnapshot> snapshot = decode(mapped);
+            if (snapshot.isEmpty()) {
+                log.warn("Ignoring director snapshot {}: unsupported version or corrupted content", file);
+            } else {
+                log.info("Director snapshot loaded from {} ({} directors, crawled at {})",
+                        file, snapshot.get().getCounts().size(), snapshot.get().getCreatedAt());
+            }
+            return snapshot;
+        } catch (NoSuchFileException e) {
+            log.info("No director snapshot at {}", file);
+            return Optional.empty();
+        } catch (IOException e) {
+            log.warn("Could not read director snapshot {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    static byte[] encode(DirectorSnapshot snapshot) {
+        int directors = snapshot.getCounts().size();
+        byte[][] names = new byte[directors][];
+        int[] counts = new int[directors];
+        int[] next = new int[1];
+        int[] payloadLength = new int[1];
+
+        snapshot.forEachCount((director, count) -> {
+            byte[] name = director.getBytes(StandardCharsets.UTF_8);
+            if (name.length > 0xFFFF) {
+                throw new IllegalArgumentException("Director name too long to persist: " + name.length + " bytes");
+            }
+            names[next[0]] = name;
+            counts[next[0]++] = count;
+            payloadLength[0] += 4 + 2 + name.length;
+        });
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + payloadLength[0] + TRAILER_BYTES)
+                .order(ByteOrder.BIG_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putLong(snapshot.getCreatedAt().toEpochMilli())
+                .putInt(snapshot.getTotalMovies())
+                .putInt(snapshot.getTotalPages())
+                .putInt(directors)
+                .putInt(payloadLength[0]);
+        for (int i = 0; i < directors; i++) {
+            buffer.putInt(counts[i]).putShort((short) names[i].length).put(names[i]);
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.array();
+    }
+
+    static Optional<DirectorSnapshot> decode(ByteBuffer buffer) {
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        int limit = buffer.limit();
+        if (limit < HEADER_BYTES + TRAILER_BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getShort(4) != VERSION) {
+            return Optional.empty();
+        }
+
+        int payloadLength = buffer.getInt(HEADER_BYTES - 4);
+        if (payloadLength < 0 || HEADER_BYTES + payloadLength + TRAILER_BYTES != limit) {
+            return Optional.empty();
+        }
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(0, HEADER_BYTES + payloadLength));
+        if ((int) crc.getValue() != buffer.getInt(HEADER_BYTES + payloadLength)) {
+            return Optional.empty();
+        }
+
+        try {
+            buffer.position(8);
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int totalMovies = buffer.getInt();
+            int totalPages = buffer.getInt();
+            int directors = buffer.getInt();
+            buffer.getInt(); // payload length, checked above
+            if (directors < 0 || directors > payloadLength / 6) {
+                return Optional.empty();
+            }
+
+            StringIntCounter counts = new StringIntCounter(directors);
+            for (int i = 0; i < directors; i++) {
+                int count = buffer.getInt();
+                byte[] name = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(name);
+                counts.add(new String(name, StandardCharsets.UTF_8), count);
+            }
+            if (buffer.position() != HEADER_BYTES + payloadLength) {
+                return Optional.empty();
+            }
+            return Optional.of(DirectorSnapshot.restore(counts, createdAt, totalMovies, totalPages));
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Decides when and how often a slow page request may be duplicated ("hedged").
+ * <p>
+ * The hedge delay is the {@code movie.api.hedge-percentile} of the last {@value #WINDOW} successful page
+ * latencies, never below {@code movie.api.hedge-min-delay}, and is only known once {@value #MIN_SAMPLES}
+ * samples were seen. Hedges are paid from a token bucket: every primary request deposits
+ * {@code movie.api.hedge-budget-ratio} tokens and a hedge spends one, so extra load stays at about that
+ * ratio of the primary traffic.
+ */
+@Component
+public class HedgePolicy {
+
+    static final int WINDOW = 256; // power of two, so the ring index wraps with a mask
+    static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+    private static final double MAX_TOKENS = 10;
+
+    private final boolean enabled;
+    private final double percentile;
+    private final long minDelayNanos;
+    private final double budgetRatio;
+
+    private final Counter fired;
+    private final Counter denied;
+    private final Counter won;
+
+    private final long[] latencies = new long[WINDOW];
+    private int next;    // ring position of the next sample
+    private int samples; // saturates at WINDOW: only compared with MIN_SAMPLES and WINDOW
+    private int sinceRecompute;
+    private long delayNanos = -1;
+    private double tokens;
+
+    public HedgePolicy(MovieApiConfig movieApiConfig, MeterRegistry registry) {
+        this.enabled = movieApiConfig.isHedgeEnabled();
+        this.percentile = movieApiConfig.getHedgePercentile() > 0 ? movieApiConfig.getHedgePercentile() : 0.95;
+        this.minDelayNanos = movieApiConfig.getHedgeMinDelay() != null ? movieApiConfig.getHedgeMinDelay().toNanos() : 0;
+        this.budgetRatio = movieApiConfig.getHedgeBudgetRatio();
+
+        this.fired = Counter.builder("movie.api.hedge.fired")
+                .description("Duplicate page requests sent because the first one was slow")
+                .register(registry);
+        this.denied = Counter.builder("movie.api.hedge.denied")
+                .description("Hedges skipped because the hedge budget was exhausted")
+                .register(registry);
+        this.won = Counter.builder("movie.api.hedge.won")
+                .description("Hedged requests that answered before the original one")
+                .register(registry);
+    }
+
+    /**
+     * How long to wait for the primary request before hedging, or {@code null} when hedging is off or
+     * there is not enough latency history yet. Each call counts as one primary request for the budget.
+     */
+    public synchronized Duration hedgeDelay() {
+        if (!enabled || budgetRatio <= 0) {
+            return null;
+        }
+        tokens = Math.min(MAX_TOKENS, tokens + budgetRatio);
+        return delayNanos < 0 ? null : Duration.ofNanos(delayNanos);
+    }
+
+    /**
+     * Spends one token for a hedge; false when the budget is exhausted.
+     */
+    public synchronized boolean tryHedge() {
+        if (tokens < 1) {
+            denied.increment();
+            return false;
+        }
+        tokens -= 1;
+        fired.increment();
+        return true;
+    }
+
+    public void hedgeWon() {
+        won.increment();
+    }
+
+    public synchronized void recordLatency(long nanos) {
+        latencies[next] = nanos;
+        next = (next + 1) & (WINDOW - 1);
+        if (samples < WINDOW) {
+            samples++;
+        }
+        if (samples >= MIN_SAMPLES && (delayNanos < 0 || ++sinceRecompute >= RECOMPUTE_EVERY)) {
+            sinceRecompute = 0;
+            long[] window = Arrays.copyOf(latencies, Math.min(samples, WINDOW));
+            Arrays.sort(window);
+            int index = (int) Math.ceil(percentile * window.length) - 1;
+            delayNanos = Math.max(minDelayNanos, window[Math.max(0, Math.min(index, window.length - 1))]);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package domus.challenge.repository;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import domus.challenge.domain.Movie;
+import domus.challenge.domain.MovieRating;
+import domus.challenge.dto.MoviePageResponseDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Token-level decoder for upstream movie pages that only materializes the requested movie fields.
+ * <p>
+ * Walks the page with Jackson's token parser: page counters are always read, every movie attribute
+ * outside {@code fields} is skipped without building its value, and unknown {@code Rated} values
+ * are left as {@code null} instead of failing the page.
+ * <p>
+ * The parser reads from a complete page: the repository joins the response body into one buffer first,
+ * so the page is held in memory once as bytes, but never as a tree or as unused {@code Movie} fields.
+ */
+public final class MoviePageProjectionDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    public MoviePageResponseDto decode(InputStream in, Set<String> fields) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            return readPage(parser, fields);
+        }
+    }
+
+    public MoviePageResponseDto decode(byte[] content, Set<String> fields) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            return readPage(parser, fields);
+        }
+    }
+
+    private MoviePageResponseDto readPage(JsonParser parser, Set<String> fields) throws IOException {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+        MoviePageResponseDto.MoviePageResponseDtoBuilder page = MoviePageResponseDto.builder();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            switch (name) {
+                case "page" -> page.page(parser.getValueAsInt());
+                case "per_page" -> page.per_page(parser.getValueAsInt());
+                case "total" -> page.total(parser.getValueAsInt());
+                case "total_pages" -> page.total_pages(parser.getValueAsInt());
+                case "data" -> page.movieList(value == JsonToken.START_ARRAY ? readMovies(parser, fields) : null);
+                default -> parser.skipChildren();
+            }
+        }
+
+        return page.build();
+    }
+
+    private List<Movie> readMovies(JsonParser parser, Set<String> fields) throws IOException {
+        List<Movie> movies = new ArrayList<>();
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+            if (token == JsonToken.START_OBJECT) {
+                movies.add(readMovie(parser, fields));
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return movies;
+    }
+
+    private Movie readMovie(JsonParser parser, Set<String> fields) throws IOException {
+        Movie.MovieBuilder movie = Movie.builder();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (value != JsonToken.VALUE_STRING || !fields.contains(name)) {
+                parser.skipChildren();
+                continue;
+            }
+
+            switch (name) {
+                case "Title" -> movie.title(parser.getText());
+                case "Year" -> movie.year(parser.getText());
+                case "Released" -> movie.released(parser.getText());
+                case "Runtime" -> movie.runtime(parser.getText());
+                case "Genre" -> movie.genre(parser.getText());
+                case "Rated" -> movie.rated(MovieRating.tryParse(parser.getText()));
+                case "Director" -> movie.director(parser.getText());
+                case "Writer" -> movie.writer(parser.getText());
+                case "Actors" -> movie.actors(parser.getText());
+                default -> { }
+            }
+        }
+
+        return movie.build();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected token " + actual + " at " + parser.currentLocation() + ", expected " + expected);
+        }
+    }
+}
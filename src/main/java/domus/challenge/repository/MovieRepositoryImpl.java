@@ -1,12 +1,20 @@
 package domus.challenge.repository;
 
 import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.MovieDimension;
 import domus.challenge.dto.MoviePageResponseDto;
 import domus.challenge.exceptions.ExternalClientException;
 import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.exceptions.ExternalTooManyRequestsException;
+import domus.challenge.metrics.CrawlMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.reactive.function.client.ClientResponse;
@@ -16,16 +24,30 @@ import reactor.core.publisher.Mono;
 import reactor.netty.http.client.PrematureCloseException;
 import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 @Repository
 @Slf4j
 @AllArgsConstructor
 public class MovieRepositoryImpl implements MovieRepository {
 
+    // Attributes the movie store keeps besides the director
+    private static final List<String> MOVIE_STORE_FIELDS = List.of("Genre", "Year", "Rated");
+
     private final WebClient movieWebClient;
     private final MovieApiConfig movieApiConfig;
+    private final CrawlMetrics crawlMetrics;
+    private final HedgePolicy hedgePolicy;
+    private final RetryBudget retryBudget;
+    private final MoviePageProjectionDecoder projectionDecoder = new MoviePageProjectionDecoder();
 
     @PostConstruct
     public void init() {
@@ -37,17 +59,95 @@ public class MovieRepositoryImpl implements MovieRepository {
 
         log.debug("Calling external API, page={}", page);
 
-        return movieWebClient.get()
+        AtomicInteger attempts = new AtomicInteger();
+        Mono<MoviePageResponseDto> body = Mono.defer(() -> {
+            int attempt = attempts.incrementAndGet();
+            return hedged(() -> timedAttempt(fetchPage(page), attempt));
+        });
+
+        return body
+                .doOnNext(dto -> retryBudget.recordSuccess())
+                .retryWhen(budgetedRetry())
+                .doOnNext(this::logResponse)
+                .doOnError(e -> log.error(" Error calling external API: {}", e.getMessage(), e));
+    }
+
+
+    /**
+     * Retries 5xx and premature closes with full-jitter backoff while the shared {@link RetryBudget} allows it;
+     * otherwise the last failure is propagated as is.
+     */
+    private Retry budgetedRetry() {
+        return Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            boolean retryable = failure instanceof PrematureCloseException || failure instanceof ExternalServerException;
+            if (!retryable || signal.totalRetries() >= movieApiConfig.getRetryMaxAttempts() || !retryBudget.tryRetry()) {
+                return Mono.error(failure);
+            }
+            return Mono.delay(retryBudget.backoff(signal.totalRetries()));
+        }));
+    }
+
+    private Mono<MoviePageResponseDto> fetchPage(int page) {
+        WebClient.ResponseSpec response = movieWebClient.get()
                 .uri(uriBuilder -> buildSearchUri(uriBuilder, page))
                 .retrieve()
+                .onStatus(status -> status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS), this::handle429Error)
                 .onStatus(HttpStatusCode::is4xxClientError, this::handle4xxError)
-                .onStatus(HttpStatusCode::is5xxServerError, this::handle5xxError)
-                .bodyToMono(MoviePageResponseDto.class)
-                .retryWhen(Retry.backoff(movieApiConfig.getRetryMaxAttempts(), movieApiConfig.getRetryBackoff())
-                        .filter(throwable -> throwable instanceof PrematureCloseException
-                                || throwable instanceof ExternalServerException))
-                .doOnNext(this::logResponse)
-                .doOnError(e -> log.error(" Error calling external API: {}", e.getMessage(), e));
+                .onStatus(HttpStatusCode::is5xxServerError, this::handle5xxError);
+
+        List<String> projectionFields = movieApiConfig.getProjectionFields();
+        return (projectionFields == null || projectionFields.isEmpty())
+                ? response.bodyToMono(MoviePageResponseDto.class)
+                : decodeProjection(response, projection(projectionFields));
+    }
+
+    // Configured fields plus whatever the counted group dimensions and the movie store read
+    private Set<String> projection(List<String> projectionFields) {
+        Set<String> fields = new HashSet<>(projectionFields);
+        List<MovieDimension> dimensions = movieApiConfig.getGroupDimensions();
+        if (dimensions != null) {
+            dimensions.forEach(dimension -> fields.add(dimension.getField()));
+        }
+        if (movieApiConfig.isMovieStore()) {
+            fields.addAll(MOVIE_STORE_FIELDS);
+        }
+        return fields;
+    }
+
+    /**
+     * Runs the attempt and, if it has not answered within the hedge delay and the budget allows it,
+     * a duplicate of it. Whichever signals first wins and the other one is cancelled.
+     */
+    private Mono<MoviePageResponseDto> hedged(Supplier<Mono<MoviePageResponseDto>> attempt) {
+        Duration hedgeDelay = hedgePolicy.hedgeDelay();
+        if (hedgeDelay == null) {
+            return recordingLatency(attempt);
+        }
+
+        Mono<MoviePageResponseDto> hedge = Mono.delay(hedgeDelay)
+                .flatMap(tick -> hedgePolicy.tryHedge()
+                        ? recordingLatency(attempt).doOnNext(dto -> hedgePolicy.hedgeWon())
+                        : Mono.never());
+
+        return Mono.firstWithSignal(recordingLatency(attempt), hedge);
+    }
+
+    private Mono<MoviePageResponseDto> recordingLatency(Supplier<Mono<MoviePageResponseDto>> attempt) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return attempt.get()
+                    .doOnNext(dto -> hedgePolicy.recordLatency(System.nanoTime() - start));
+        });
+    }
+
+    // Records every attempt (retries included) in movie.api.page.latency, tagged by status and attempt
+    private Mono<MoviePageResponseDto> timedAttempt(Mono<MoviePageResponseDto> attempt, int attemptNumber) {
+        Timer.Sample sample = crawlMetrics.startTimer();
+        return attempt
+                .doOnSuccess(dto -> crawlMetrics.pageFetched(sample, dto != null ? "2xx" : "EMPTY", attemptNumber))
+                .doOnError(e -> crawlMetrics.pageFetched(sample, CrawlMetrics.statusOf(e), attemptNumber))
+                .doOnCancel(() -> crawlMetrics.pageFetched(sample, "CANCELLED", attemptNumber));
     }
 
 
@@ -58,6 +158,24 @@ public class MovieRepositoryImpl implements MovieRepository {
     }
 
 
+    // Buffers the page (bounded by max-in-memory-size) and walks it with the projection decoder instead of
+    // binding every Movie field: the saving is in objects built, not in bytes held
+    private Mono<MoviePageResponseDto> decodeProjection(WebClient.ResponseSpec response, Set<String> fields) {
+        int maxBytes = movieApiConfig.getMaxInMemorySize() != null
+                ? (int) movieApiConfig.getMaxInMemorySize().toBytes()
+                : -1;
+
+        return DataBufferUtils.join(response.bodyToFlux(DataBuffer.class), maxBytes)
+                .map(buffer -> {
+                    try (InputStream in = buffer.asInputStream(true)) {
+                        return projectionDecoder.decode(in, fields);
+                    } catch (IOException e) {
+                        throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+                    }
+                });
+    }
+
+
     private Mono<Throwable> handle4xxError(ClientResponse response) {
         return response.bodyToMono(String.class)
                 .defaultIfEmpty("Client error")
@@ -67,6 +185,15 @@ public class MovieRepositoryImpl implements MovieRepository {
                 });
     }
 
+    private Mono<Throwable> handle429Error(ClientResponse response) {
+        return response.bodyToMono(String.class)
+                .defaultIfEmpty("Too many requests")
+                .flatMap(body -> {
+                    log.warn("429 Too many requests: {}", body);
+                    return Mono.error(new ExternalTooManyRequestsException("Movie API is throttling requests: " + body));
+                });
+    }
+
     private Mono<Throwable> handle5xxError(ClientResponse response) {
         return response.bodyToMono(String.class)
                 .defaultIfEmpty("Server error")
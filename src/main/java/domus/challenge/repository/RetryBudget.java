@@ -0,0 +1,102 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Retry budget shared by every page fetch, plus the full-jitter backoff between retries.
+ * <p>
+ * Retries are paid from a token bucket holding at most {@code movie.api.retry-budget-max-tokens}: every
+ * successful page deposits {@code movie.api.retry-budget-ratio} tokens and every retry spends one. While the
+ * upstream is healthy the bucket stays full; during an outage it drains after a few retries and further
+ * failures are returned at once instead of multiplying the load. A ratio of 0 disables the budget.
+ * <p>
+ * The wait before retry {@code n} (0-based) is uniform in {@code [0, min(retry-max-backoff, retry-backoff * 2^n))},
+ * so retries from a fan-out that failed together do not come back together.
+ */
+@Component
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private final long baseNanos;
+    private final long maxBackoffNanos;
+    private final DoubleSupplier random;
+
+    private final Counter allowed;
+    private final Counter denied;
+
+    private double tokens;
+
+    @Autowired
+    public RetryBudget(MovieApiConfig movieApiConfig, MeterRegistry registry) {
+        this(movieApiConfig, registry, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RetryBudget(MovieApiConfig movieApiConfig, MeterRegistry registry, DoubleSupplier random) {
+        Duration backoff = movieApiConfig.getRetryBackoff();
+        Duration maxBackoff = movieApiConfig.getRetryMaxBackoff();
+        this.ratio = movieApiConfig.getRetryBudgetRatio();
+        this.maxTokens = Math.max(1, movieApiConfig.getRetryBudgetMaxTokens());
+        this.baseNanos = backoff != null ? backoff.toNanos() : 0;
+        this.maxBackoffNanos = maxBackoff != null ? maxBackoff.toNanos() : Long.MAX_VALUE;
+        this.random = random;
+        this.tokens = maxTokens;
+
+        this.allowed = Counter.builder("movie.api.retry.allowed")
+                .description("Page retries paid from the retry budget")
+                .register(registry);
+        this.denied = Counter.builder("movie.api.retry.denied")
+                .description("Page retries skipped because the retry budget was exhausted")
+                .register(registry);
+        Gauge.builder("movie.api.retry.budget", this, RetryBudget::availableTokens)
+                .description("Retry tokens currently available")
+                .register(registry);
+    }
+
+    public synchronized void recordSuccess() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    /**
+     * Spends one token for a retry; false when the budget is exhausted.
+     */
+    public synchronized boolean tryRetry() {
+        if (ratio > 0 && tokens < 1) {
+            denied.increment();
+            return false;
+        }
+        if (ratio > 0) {
+            tokens -= 1;
+        }
+        allowed.increment();
+        return true;
+    }
+
+    /**
+     * Full-jitter wait before the given (0-based) retry of a page.
+     */
+    public Duration backoff(long retry) {
+        if (baseNanos <= 0) {
+            return Duration.ZERO;
+        }
+        // base * 2^retry, capped without overflowing
+        long ceiling = maxBackoffNanos;
+        if (retry < Long.SIZE - 1 && baseNanos <= maxBackoffNanos >> retry) {
+            ceiling = baseNanos << retry;
+        }
+        return Duration.ofNanos((long) (random.getAsDouble() * ceiling));
+    }
+
+    synchronized double availableTokens() {
+        return tokens;
+    }
+}
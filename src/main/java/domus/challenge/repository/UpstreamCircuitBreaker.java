@@ -0,0 +1,159 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.exceptions.ExternalCircuitOpenException;
+import domus.challenge.exceptions.ExternalClientException;
+import domus.challenge.exceptions.ExternalTooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker for calls to the movie API.
+ * <p>
+ * {@code movie.api.circuit-failure-threshold} consecutive failures (5xx, 429, timeouts, I/O errors;
+ * plain 4xx do not count) open the circuit: calls then fail immediately with
+ * {@link ExternalCircuitOpenException} for {@code movie.api.circuit-open-duration}. After that, up to
+ * {@code movie.api.circuit-half-open-probes} calls go through as probes; a successful probe closes
+ * the circuit, a failed one opens it again. A threshold of 0 disables the breaker.
+ */
+@Component
+@Slf4j
+public class UpstreamCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+    private final Counter rejected;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private int probesInFlight;
+
+    @Autowired
+    public UpstreamCircuitBreaker(MovieApiConfig movieApiConfig, MeterRegistry registry) {
+        this(movieApiConfig, registry, System::nanoTime);
+    }
+
+    UpstreamCircuitBreaker(MovieApiConfig movieApiConfig, MeterRegistry registry, LongSupplier nanoClock) {
+        Duration openDuration = movieApiConfig.getCircuitOpenDuration();
+        this.failureThreshold = movieApiConfig.getCircuitFailureThreshold();
+        this.openNanos = openDuration != null ? openDuration.toNanos() : Duration.ofSeconds(30).toNanos();
+        this.halfOpenProbes = Math.max(1, movieApiConfig.getCircuitHalfOpenProbes());
+        this.nanoClock = nanoClock;
+
+        Gauge.builder("movie.api.circuit.state", this, breaker -> breaker.getState().ordinal())
+                .description("Movie API circuit state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        this.rejected = Counter.builder("movie.api.circuit.rejected")
+                .description("Calls rejected without reaching the movie API because the circuit was open")
+                .register(registry);
+    }
+
+    public <T> Mono<T> protect(Supplier<Mono<T>> call) {
+        if (failureThreshold <= 0) {
+            return Mono.defer(call);
+        }
+
+        return Mono.defer(() -> {
+            Boolean probe = tryAcquire();
+            if (probe == null) {
+                rejected.increment();
+                return Mono.error(new ExternalCircuitOpenException("Movie API circuit is open"));
+            }
+
+            AtomicBoolean done = new AtomicBoolean();
+            return call.get()
+                    .doOnSuccess(value -> {
+                        if (done.compareAndSet(false, true)) onSuccess(probe);
+                    })
+                    .doOnError(error -> {
+                        if (done.compareAndSet(false, true)) onError(probe, error);
+                    })
+                    .doOnCancel(() -> {
+                        if (done.compareAndSet(false, true)) onCancel(probe);
+                    });
+        });
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && nanoClock.getAsLong() - openedAt >= openNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    // null: rejected, TRUE: half-open probe, FALSE: regular call
+    private synchronized Boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return null;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+            log.info("Movie API circuit half-open, probing");
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return null;
+            }
+            probesInFlight++;
+            return Boolean.TRUE;
+        }
+        return Boolean.FALSE;
+    }
+
+    private synchronized void onSuccess(boolean probe) {
+        consecutiveFailures = 0;
+        if (probe && state == State.HALF_OPEN) {
+            state = State.CLOSED;
+            probesInFlight = 0;
+            log.info("Movie API circuit closed");
+        }
+    }
+
+    private synchronized void onError(boolean probe, Throwable error) {
+        if (!isFailure(error)) {
+            onSuccess(probe);
+            return;
+        }
+
+        if (probe && state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    private synchronized void onCancel(boolean probe) {
+        if (probe && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        consecutiveFailures = 0;
+        probesInFlight = 0;
+        log.warn("Movie API circuit opened for {} ms", Duration.ofNanos(openNanos).toMillis());
+    }
+
+    // The upstream answered, it just did not like the request: not a health signal
+    private static boolean isFailure(Throwable error) {
+        return !(error instanceof ExternalClientException) || error instanceof ExternalTooManyRequestsException;
+    }
+}
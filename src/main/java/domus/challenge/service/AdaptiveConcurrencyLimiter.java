@@ -0,0 +1,186 @@
+package domus.challenge.service;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.exceptions.ExternalTooManyRequestsException;
+import domus.challenge.exceptions.UpstreamTimeouts;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.concurrent.Queues;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * AIMD concurrency limit for upstream page fetches.
+ * <p>
+ * Every successful page under the latency target adds one slot while the limit is actually in use;
+ * a 429, 5xx, timeout or slow page halves it. The limit always stays within
+ * {@code movie.api.crawl-concurrency-min} and {@code movie.api.crawl-concurrency-max}.
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final Duration latencyTarget;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(MovieApiConfig movieApiConfig, MeterRegistry registry) {
+        this.minLimit = Math.max(1, movieApiConfig.getCrawlConcurrencyMin());
+        this.maxLimit = movieApiConfig.getCrawlConcurrencyMax() > 0
+                ? Math.max(minLimit, movieApiConfig.getCrawlConcurrencyMax())
+                : Math.max(minLimit, Queues.SMALL_BUFFER_SIZE);
+        this.latencyTarget = movieApiConfig.getCrawlLatencyTarget();
+        this.limit = minLimit;
+
+        Gauge.builder("directors.crawl.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive limit of concurrent upstream page fetches")
+                .register(registry);
+        Gauge.builder("directors.crawl.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Upstream page fetches currently in flight")
+                .register(registry);
+    }
+
+    /**
+     * Runs the call once a slot is available and feeds its outcome back into the limit.
+     */
+    public <T> Mono<T> run(Supplier<Mono<T>> call) {
+        return Mono.usingWhen(
+                acquire(),
+                permit -> Mono.defer(() -> {
+                    permit.start();
+                    return call.get();
+                }),
+                permit -> Mono.fromRunnable(() -> permit.release(null)),
+                (permit, error) -> Mono.fromRunnable(() -> permit.release(error)),
+                permit -> Mono.fromRunnable(permit::cancel)
+        );
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            boolean granted;
+            synchronized (this) {
+                granted = inFlight < (int) limit;
+                if (granted) {
+                    inFlight++;
+                    waiter.permit = new Permit();
+                } else {
+                    waiters.addLast(waiter);
+                }
+            }
+
+            if (granted) {
+                sink.success(waiter.permit);
+                return;
+            }
+
+            sink.onCancel(() -> {
+                Permit orphan;
+                synchronized (this) {
+                    waiters.remove(waiter);
+                    orphan = waiter.permit;
+                }
+                if (orphan != null) {
+                    orphan.cancel();
+                }
+            });
+        });
+    }
+
+    private void onRelease(Throwable error, long latencyNanos, boolean cancelled) {
+        Deque<Waiter> granted = new ArrayDeque<>();
+
+        synchronized (this) {
+            if (!cancelled) {
+                adjustLimit(error, latencyNanos);
+            }
+            inFlight--;
+
+            while (inFlight < (int) limit && !waiters.isEmpty()) {
+                Waiter next = waiters.pollFirst();
+                inFlight++;
+                next.permit = new Permit();
+                granted.add(next);
+            }
+        }
+
+        granted.forEach(w -> w.sink.success(w.permit));
+    }
+
+    private void adjustLimit(Throwable error, long latencyNanos) {
+        if (isOverloadSignal(error, latencyNanos)) {
+            double previous = limit;
+            limit = Math.max(minLimit, Math.floor(limit * BACKOFF_RATIO));
+            log.debug("Concurrency limit decreased {} -> {}", (int) previous, (int) limit);
+        } else if (error == null && inFlight * 2 >= (int) limit) {
+            limit = Math.min(maxLimit, limit + 1);
+        }
+    }
+
+    private boolean isOverloadSignal(Throwable error, long latencyNanos) {
+        if (error != null) {
+            return error instanceof ExternalTooManyRequestsException
+                    || error instanceof ExternalServerException
+                    || UpstreamTimeouts.isTimeout(error);
+        }
+        return latencyTarget != null && latencyNanos > latencyTarget.toNanos();
+    }
+
+    private static final class Waiter {
+        private final MonoSink<Permit> sink;
+        private Permit permit;
+
+        private Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+    }
+
+    private final class Permit {
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long startNanos = System.nanoTime();
+
+        private void start() {
+            startNanos = System.nanoTime();
+        }
+
+        private void release(Throwable error) {
+            if (released.compareAndSet(false, true)) {
+                onRelease(error, System.nanoTime() - startNanos, false);
+            }
+        }
+
+        private void cancel() {
+            if (released.compareAndSet(false, true)) {
+                onRelease(null, 0, true);
+            }
+        }
+    }
+}
@@ -1,10 +1,54 @@
 package domus.challenge.service;
 
+import domus.challenge.domain.DirectorSnapshot;
+import domus.challenge.domain.MovieDimension;
+import domus.challenge.domain.MovieFilter;
+import domus.challenge.dto.DirectorResponseDto;
+import domus.challenge.dto.DirectorSearchResponseDto;
+import domus.challenge.dto.DirectorStreamEventDto;
+import domus.challenge.dto.DirectorsBatchResponseDto;
 import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.dto.GroupResponseDto;
+import domus.challenge.dto.TopDirectorsResponseDto;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface DirectorService {
 
     Mono<DirectorsResponseDto> findDirectorsAboveThreshold(int threshold);
 
+    /**
+     * Directors with more than {@code threshold} movies among those matching the filter.
+     */
+    Mono<DirectorsResponseDto> findDirectorsAboveThreshold(int threshold, MovieFilter filter);
+
+    Mono<DirectorsBatchResponseDto> findDirectorsAboveThresholds(List<Integer> thresholds);
+
+    Mono<TopDirectorsResponseDto> findTopDirectors(int k);
+
+    /**
+     * Movie count of one director; fails with {@code DirectorNotFoundException} when not counted.
+     */
+    Mono<DirectorResponseDto> findDirector(String name);
+
+    Mono<DirectorSearchResponseDto> searchDirectors(String prefix, int limit);
+
+    Mono<GroupResponseDto> findAboveThreshold(MovieDimension dimension, int threshold);
+
+    Flux<DirectorStreamEventDto> streamDirectorsAboveThreshold(int threshold);
+
+    Mono<DirectorSnapshot> refreshSnapshot();
+
+    /**
+     * Version of the snapshot the next answer will be built from, or {@code null} when it needs a crawl.
+     */
+    Long currentSnapshotVersion();
+
+    /**
+     * Installs a snapshot loaded from storage, unless a crawl already published a newer one.
+     */
+    void restoreSnapshot(DirectorSnapshot snapshot);
+
 }
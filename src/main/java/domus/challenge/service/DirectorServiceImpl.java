@@ -1,26 +1,63 @@
 package domus.challenge.service;
 
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.DirectorCount;
 import domus.challenge.domain.DirectorCounter;
 import domus.challenge.domain.DirectorCounterState;
+import domus.challenge.domain.DirectorSnapshot;
+import domus.challenge.domain.MovieDimension;
+import domus.challenge.domain.MovieFilter;
+import domus.challenge.domain.MovieStore;
+import domus.challenge.domain.PageLedger;
+import domus.challenge.domain.PageTally;
+import domus.challenge.dto.DirectorResponseDto;
+import domus.challenge.dto.DirectorSearchResponseDto;
+import domus.challenge.dto.DirectorStreamEventDto;
+import domus.challenge.dto.DirectorsBatchResponseDto;
 import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.dto.GroupResponseDto;
+import domus.challenge.dto.TopDirectorsResponseDto;
 import domus.challenge.dto.MoviePageResponseDto;
+import domus.challenge.dto.SnapshotResponseDto;
+import domus.challenge.exceptions.DimensionNotCountedException;
+import domus.challenge.exceptions.DirectorNotFoundException;
 import domus.challenge.exceptions.ExternalClientException;
 import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.exceptions.ExternalCircuitOpenException;
 import domus.challenge.exceptions.ExternalServiceUnavailableException;
+import domus.challenge.exceptions.ExternalTooManyRequestsException;
+import domus.challenge.exceptions.MovieFilterUnavailableException;
 import domus.challenge.mappers.DirectorMapper;
+import domus.challenge.metrics.CrawlMetrics;
 import domus.challenge.repository.MovieRepository;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClientRequestException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
 
 @Service
 @AllArgsConstructor
@@ -30,6 +67,17 @@ public class DirectorServiceImpl implements DirectorService {
     private final MovieRepository movieRepository;
     private final DirectorMapper directorMapper;
     private final DirectorCounter directorCounter;
+    private final MovieApiConfig movieApiConfig;
+
+    private final CrawlMetrics crawlMetrics;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final AtomicReference<DirectorSnapshot> currentSnapshot = new AtomicReference<>();
+    private final AtomicReference<Mono<DirectorSnapshot>> inFlightCrawl = new AtomicReference<>();
+
+    // Per-page contributions of the last complete crawl, base for incremental refreshes
+    private final AtomicReference<PageLedger> pageLedger = new AtomicReference<>();
+    private final AtomicInteger incrementalRefreshes = new AtomicInteger();
 
     @Override
     public Mono<DirectorsResponseDto> findDirectorsAboveThreshold(int threshold) {
@@ -40,14 +88,523 @@ public class DirectorServiceImpl implements DirectorService {
             return Mono.just(directorMapper.toResponse(Collections.emptyList()));
         }
 
-        DirectorCounterState state = directorCounter.createState();
+        return answer((snapshot, stale) -> buildResponse(snapshot, threshold, stale));
+    }
+
+    /**
+     * Counts only the movies matching the filter, from the snapshot's movie store: the filter is resolved to
+     * a bitmap of rows (AND of the genre, rating and year bitmaps) and the directors of those rows are
+     * counted. A snapshot without a store (restored from disk) is refreshed first.
+     */
+    @Override
+    public Mono<DirectorsResponseDto> findDirectorsAboveThreshold(int threshold, MovieFilter filter) {
+
+        if (filter == null || filter.isEmpty()) {
+            return findDirectorsAboveThreshold(threshold);
+        }
+
+        log.info("Finding directors with threshold {} and filter {}", threshold, filter);
+
+        if (!movieApiConfig.isMovieStore()) {
+            return Mono.error(new MovieFilterUnavailableException(
+                    "Filtered queries need the movie store, see movie.api.movie-store"));
+        }
+        if (threshold < 0) {
+            return Mono.just(directorMapper.toResponse(Collections.emptyList()));
+        }
+
+        return answer(DirectorSnapshot::hasMovieStore,
+                (snapshot, stale) -> buildResponse(snapshot, snapshot.above(filter, threshold), threshold, stale));
+    }
+
+    /**
+     * Answers every threshold from one snapshot, so a dashboard asking for several cut-offs costs
+     * at most one crawl. Duplicate thresholds are answered once, in first-seen order.
+     */
+    @Override
+    public Mono<DirectorsBatchResponseDto> findDirectorsAboveThresholds(List<Integer> thresholds) {
+
+        log.info("Finding directors for thresholds {}", thresholds);
+
+        return answer((snapshot, stale) -> buildBatchResponse(snapshot, thresholds, stale));
+    }
+
+    @Override
+    public Mono<TopDirectorsResponseDto> findTopDirectors(int k) {
+
+        log.info("Finding top {} directors", k);
+
+        if (k <= 0) {
+            return Mono.just(directorMapper.toTopResponse(Collections.emptyList(), null));
+        }
+
+        return answer((snapshot, stale) -> buildTopResponse(snapshot, k, stale));
+    }
+
+    /**
+     * One director's count from the snapshot: a hash lookup on the exact name, then a case-insensitive
+     * match on the snapshot's name index.
+     */
+    @Override
+    public Mono<DirectorResponseDto> findDirector(String name) {
+
+        log.info("Finding director {}", name);
+
+        // Raised after answer() so a miss is not mistaken for a crawl failure
+        return answer((snapshot, stale) -> Optional.ofNullable(buildDirectorResponse(snapshot, name, stale)))
+                .flatMap(found -> found.map(Mono::just).orElseGet(() -> Mono.error(
+                        new DirectorNotFoundException("Director '" + name + "' has no counted movies"))));
+    }
+
+    /**
+     * Autocomplete over the snapshot's sorted name index: O(log n) to find the first match plus the
+     * matches returned, capped at {@code limit}.
+     */
+    @Override
+    public Mono<DirectorSearchResponseDto> searchDirectors(String prefix, int limit) {
+
+        log.info("Searching directors with prefix '{}', limit {}", prefix, limit);
+
+        if (limit <= 0) {
+            return Mono.just(directorMapper.toSearchResponse(prefix, Collections.emptyList(), null));
+        }
+
+        return answer((snapshot, stale) -> buildSearchResponse(snapshot, prefix, limit, stale));
+    }
+
+    /**
+     * Same threshold semantics as {@link #findDirectorsAboveThreshold(int)} for another movie attribute.
+     * Every configured dimension is counted by the same crawl as directors, so this costs no extra
+     * upstream calls.
+     */
+    @Override
+    public Mono<GroupResponseDto> findAboveThreshold(MovieDimension dimension, int threshold) {
+
+        log.info("Finding {} with threshold {}", dimension.getLabel(), threshold);
+
+        if (!groupDimensions().contains(dimension) && dimension != MovieDimension.DIRECTOR) {
+            return Mono.error(new DimensionNotCountedException(
+                    "Movie " + dimension.getLabel() + " are not counted, see movie.api.group-dimensions"));
+        }
+        if (threshold < 0) {
+            return Mono.just(directorMapper.toGroupResponse(dimension.getLabel(), Collections.emptyList(), null));
+        }
+
+        return answer(snapshot -> snapshot.hasGroup(dimension),
+                (snapshot, stale) -> buildGroupResponse(snapshot, dimension, threshold, stale));
+    }
+
+    @Override
+    public Flux<DirectorStreamEventDto> streamDirectorsAboveThreshold(int threshold) {
+
+        log.info("Streaming directors with threshold {}", threshold);
+
+        if (threshold < 0) {
+            return Flux.just(DirectorStreamEventDto.complete(0, null, 0, false));
+        }
+
+        DirectorSnapshot snapshot = currentSnapshot.get();
+        if (isSnapshotEnabled() && snapshot != null) {
+            return streamFromSnapshot(snapshot, threshold);
+        }
+
+        return Flux.defer(() -> streamingCrawl(threshold))
+                .transform(this::mapCrawlErrors);
+    }
+
+    @Override
+    public Mono<DirectorSnapshot> refreshSnapshot() {
+        return sharedCrawl()
+                .transform(this::mapCrawlErrors);
+    }
+
+    @Override
+    public Long currentSnapshotVersion() {
+        DirectorSnapshot snapshot = currentSnapshot.get();
+        return isSnapshotEnabled() && snapshot != null ? snapshot.getVersion() : null;
+    }
+
+    @Override
+    public void restoreSnapshot(DirectorSnapshot snapshot) {
+        if (currentSnapshot.compareAndSet(null, snapshot)) {
+            crawlMetrics.snapshotPublished(snapshot.getCounts().size(), 0);
+            log.info("Director snapshot restored: {} directors crawled at {}",
+                    snapshot.getCounts().size(), snapshot.getCreatedAt());
+        }
+    }
+
+    /**
+     * Answers from the current snapshot when snapshots are enabled and one exists, otherwise from the
+     * shared crawl. When that crawl fails because the upstream is down, throttling or behind an open
+     * circuit, the last good snapshot is served instead, flagged as stale.
+     */
+    private <T> Mono<T> answer(BiFunction<DirectorSnapshot, Boolean, T> build) {
+        return answer(snapshot -> true, build);
+    }
+
+    // A snapshot that cannot answer (e.g. restored from disk without the group counts) is treated as absent
+    private <T> Mono<T> answer(Predicate<DirectorSnapshot> canAnswer, BiFunction<DirectorSnapshot, Boolean, T> build) {
+        DirectorSnapshot snapshot = currentSnapshot.get();
+        if (isSnapshotEnabled() && snapshot != null && canAnswer.test(snapshot)) {
+            return Mono.fromSupplier(() -> build.apply(snapshot, isStale(snapshot)));
+        }
+
+        return sharedCrawl()
+                .map(crawled -> build.apply(crawled, false))
+                .transform(this::mapCrawlErrors)
+                .onErrorResume(DirectorServiceImpl::isUpstreamFailure, e -> serveStale(canAnswer, build, e));
+    }
+
+    private <T> Mono<T> serveStale(Predicate<DirectorSnapshot> canAnswer, BiFunction<DirectorSnapshot, Boolean, T> build,
+                                   Throwable error) {
+        DirectorSnapshot last = currentSnapshot.get();
+        if (last == null || !canAnswer.test(last)) {
+            return Mono.error(error);
+        }
+
+        log.warn("Movie API unavailable ({}), serving snapshot crawled at {}", error.getMessage(), last.getCreatedAt());
+        crawlMetrics.staleServed();
+        return Mono.fromSupplier(() -> build.apply(last, true));
+    }
+
+    private static boolean isUpstreamFailure(Throwable error) {
+        return error instanceof ExternalServiceUnavailableException
+                || error instanceof ExternalServerException
+                || error instanceof ExternalTooManyRequestsException;
+    }
+
+    // A healthy refresh loop never lets the snapshot get older than one TTL plus a crawl
+    private boolean isStale(DirectorSnapshot snapshot) {
+        return snapshot.age(Instant.now()).compareTo(movieApiConfig.getSnapshotTtl().multipliedBy(2)) > 0;
+    }
+
+    /**
+     * Single-flight crawl: concurrent callers subscribe to the crawl already in progress
+     * instead of starting their own fan-out. The slot is released once the crawl terminates.
+     */
+    private Mono<DirectorSnapshot> sharedCrawl() {
+        return Mono.defer(() -> {
+            Sinks.One<DirectorSnapshot> sink = Sinks.one();
+            Mono<DirectorSnapshot> candidate = sink.asMono();
+
+            Mono<DirectorSnapshot> existing = inFlightCrawl.compareAndExchange(null, candidate);
+            if (existing != null) {
+                crawlMetrics.crawlJoined();
+                return existing;
+            }
+
+            crawlMetrics.crawlStarted();
+            Mono.defer(this::crawl)
+                    // Release the slot before the result reaches the sink: a caller arriving once the result
+                    // is out must start a new crawl, not join the finished one
+                    .doOnEach(signal -> inFlightCrawl.compareAndSet(candidate, null))
+                    .subscribe(sink::tryEmitValue, sink::tryEmitError, sink::tryEmitEmpty);
+            return candidate;
+        });
+    }
+
+    /**
+     * Counts the catalog, incrementally when possible. Once {@code movie.api.crawl-deadline} passes, pages
+     * still in flight are cancelled and the snapshot is built from the pages that arrived; such a partial
+     * snapshot answers the callers of this crawl but is not published.
+     */
+    private Mono<DirectorSnapshot> crawl() {
+        AtomicInteger pages = new AtomicInteger();
+        AtomicBoolean cut = new AtomicBoolean();
+        Timer.Sample sample = crawlMetrics.startTimer();
+        PageLedger previous = pageLedger.get();
+        Mono<Long> deadline = crawlDeadline(cut);
+
+        Mono<PageLedger> counted = canRefreshIncrementally(previous)
+                ? incrementalCrawl(previous, pages).flux().takeUntilOther(deadline).next()
+                        .switchIfEmpty(Mono.defer(() -> fullCrawl(pages, deadline, cut)))
+                : fullCrawl(pages, deadline, cut);
+
+        return counted
+                .map(ledger -> {
+                    DirectorSnapshot snapshot = DirectorSnapshot.from(ledger, Instant.now());
+                    log.info("Director movie counts collected: {}", snapshot.getCounts());
+                    if (cut.get()) {
+                        log.warn("Crawl deadline reached after {} of {} pages, answering with partial counts",
+                                snapshot.getPagesFetched(), snapshot.getTotalPages());
+                    } else {
+                        publish(snapshot);
+                    }
+                    return snapshot;
+                })
+                .doOnSuccess(snapshot -> crawlMetrics.crawlCompleted(sample, pages.get(), snapshot.getCounts().size()))
+                .doOnError(e -> crawlMetrics.crawlFailed(sample, pages.get()));
+    }
+
+    // Shared by both phases of a crawl so an incremental attempt and its full fallback fit in one deadline
+    private Mono<Long> crawlDeadline(AtomicBoolean cut) {
+        Duration deadline = movieApiConfig.getCrawlDeadline();
+        if (deadline == null || !deadline.isPositive()) {
+            return Mono.never();
+        }
+        return Mono.delay(deadline)
+                .doOnNext(tick -> cut.set(true))
+                .cache();
+    }
+
+    /**
+     * Map-reduce over the pages: each page is tallied on its own (fingerprint and a local director counter)
+     * on one of {@code movie.api.aggregation-parallelism} rails, and the tallies are folded into the ledger
+     * one at a time. Only the fold touches the shared counts, and it does one add per distinct director
+     * of a page instead of one per movie.
+     */
+    private Mono<PageLedger> fullCrawl(AtomicInteger pages, Mono<Long> deadline, AtomicBoolean cut) {
+        PageLedger ledger = new PageLedger(directorCounter.createState(), groupDimensions(),
+                movieApiConfig.isMovieStore());
+        AtomicReference<MoviePageResponseDto> firstPage = new AtomicReference<>();
 
         return fetchAllPages()
-                .flatMapIterable(MoviePageResponseDto::getMovieList)
-                .filter(Objects::nonNull)
-                .doOnNext(state::add)
-                .then(Mono.fromSupplier(() -> buildResult(state, threshold)))
-                .map(directorMapper::toResponse)
+                .takeUntilOther(deadline)
+                .doOnNext(page -> {
+                    pages.incrementAndGet();
+                    firstPage.compareAndSet(null, page);
+                })
+                .parallel(aggregationParallelism())
+                .runOn(Schedulers.parallel())
+                .map(page -> PageTally.of(page.getPage(), page.getMovieList(), ledger.getDimensions(),
+                        ledger.isKeepingRows()))
+                .sequential()
+                .doOnNext(ledger::record)
+                .then(Mono.defer(() -> {
+                    MoviePageResponseDto first = firstPage.get();
+                    if (first != null) {
+                        ledger.describe(first.getTotal(), first.getPer_page(), Math.max(1, first.getTotal_pages()));
+                    }
+                    if (cut.get() && first == null) {
+                        return Mono.error(new ExternalServiceUnavailableException(
+                                "Movie API did not answer before the crawl deadline"));
+                    }
+                    if (cut.get()) {
+                        // Partial counts: the previous ledger stays the base for incremental refreshes
+                        crawlMetrics.crawlTruncated();
+                        return Mono.just(ledger);
+                    }
+                    crawlMetrics.crawlMode("full");
+                    incrementalRefreshes.set(0);
+                    pageLedger.set(isIncrementalEnabled() && ledger.isComplete() ? ledger : null);
+                    return Mono.just(ledger);
+                }));
+    }
+
+    /**
+     * Re-fetches page 1, the previous last page, any new pages and a few random verification pages.
+     * Pages before the previous tail must be unchanged, otherwise the catalog shifted and the result
+     * is empty so the caller falls back to a full crawl. Changed tail pages replace their old
+     * contribution in the ledger; nothing is applied until every fetched page has been checked.
+     */
+    private Mono<PageLedger> incrementalCrawl(PageLedger ledger, AtomicInteger pages) {
+        return movieRepository.getMovies(1)
+                .flatMap(first -> {
+                    pages.incrementAndGet();
+                    if (first.getPer_page() != ledger.getPerPage() || first.getTotal() < ledger.getTotal()) {
+                        log.info("Movie catalog layout changed (per_page {} -> {}, total {} -> {}), running a full crawl",
+                                ledger.getPerPage(), first.getPer_page(), ledger.getTotal(), first.getTotal());
+                        return Mono.empty();
+                    }
+
+                    int totalPages = Math.max(1, first.getTotal_pages());
+                    return Flux.fromIterable(pagesToRefetch(ledger.getTotalPages(), totalPages))
+                            .flatMap(page -> concurrencyLimiter.run(() -> movieRepository.getMovies(page))
+                                    .map(dto -> Map.entry(page, dto)), concurrencyLimiter.getMaxLimit())
+                            .doOnNext(fetched -> pages.incrementAndGet())
+                            .collectList()
+                            .flatMap(fetched -> {
+                                List<Map.Entry<Integer, MoviePageResponseDto>> all = new ArrayList<>(fetched);
+                                all.add(Map.entry(1, first));
+                                return applyIncrement(ledger, first, totalPages, all)
+                                        ? Mono.just(ledger)
+                                        : Mono.empty();
+                            });
+                })
+                .onErrorResume(e -> {
+                    log.warn("Incremental refresh failed ({}), running a full crawl", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private boolean applyIncrement(PageLedger ledger, MoviePageResponseDto first, int totalPages,
+                                   List<Map.Entry<Integer, MoviePageResponseDto>> fetched) {
+        int tailStart = ledger.getTotalPages();
+        for (Map.Entry<Integer, MoviePageResponseDto> page : fetched) {
+            if (page.getKey() < tailStart && !ledger.matches(page.getKey(), page.getValue().getMovieList())) {
+                log.info("Page {} changed since the last crawl, running a full crawl", page.getKey());
+                return false;
+            }
+        }
+
+        int changed = 0;
+        for (Map.Entry<Integer, MoviePageResponseDto> page : fetched) {
+            if (page.getKey() >= tailStart && !ledger.matches(page.getKey(), page.getValue().getMovieList())) {
+                ledger.replace(page.getKey(), page.getValue().getMovieList());
+                changed++;
+            }
+        }
+        ledger.describe(first.getTotal(), first.getPer_page(), totalPages);
+
+        crawlMetrics.crawlMode("incremental");
+        incrementalRefreshes.incrementAndGet();
+        log.info("Incremental refresh: {} pages fetched, {} changed, {} total pages", fetched.size(), changed, totalPages);
+        return true;
+    }
+
+    // Previous last page (it may have filled up), every new page, and a sample of older pages to verify
+    private List<Integer> pagesToRefetch(int previousTotalPages, int totalPages) {
+        List<Integer> pages = new ArrayList<>();
+        for (int page = Math.max(2, previousTotalPages); page <= totalPages; page++) {
+            pages.add(page);
+        }
+
+        int candidates = previousTotalPages - 2; // pages 2..previousTotalPages-1
+        int verify = Math.min(movieApiConfig.getIncrementalVerifyPages(), Math.max(0, candidates));
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Set<Integer> sampled = new HashSet<>();
+        while (sampled.size() < verify) {
+            sampled.add(2 + random.nextInt(candidates));
+        }
+        pages.addAll(sampled);
+        return pages;
+    }
+
+    private Set<MovieDimension> groupDimensions() {
+        List<MovieDimension> dimensions = movieApiConfig.getGroupDimensions();
+        return dimensions == null || dimensions.isEmpty() ? Set.of() : EnumSet.copyOf(dimensions);
+    }
+
+    private int aggregationParallelism() {
+        int parallelism = movieApiConfig.getAggregationParallelism();
+        return parallelism > 0 ? parallelism : Schedulers.DEFAULT_POOL_SIZE;
+    }
+
+    private boolean canRefreshIncrementally(PageLedger previous) {
+        int fullEvery = movieApiConfig.getIncrementalFullCrawlEvery();
+        return isIncrementalEnabled()
+                && previous != null
+                && previous.isComplete()
+                && (fullEvery <= 0 || incrementalRefreshes.get() < fullEvery - 1);
+    }
+
+    private boolean isIncrementalEnabled() {
+        return movieApiConfig.isIncrementalRefresh();
+    }
+
+    /**
+     * Crawl of its own (it cannot join the shared one, which only reports at the end) that emits each
+     * director as soon as the page taking their running count past the threshold is counted. Pages are
+     * folded into a {@link PageLedger} one at a time by {@code concatMapIterable}, like a full crawl does,
+     * so a complete stream publishes the same snapshot (group counts, movie store, version) and ledger.
+     */
+    private Flux<DirectorStreamEventDto> streamingCrawl(int threshold) {
+        PageLedger ledger = new PageLedger(directorCounter.createState(), groupDimensions(),
+                movieApiConfig.isMovieStore());
+        AtomicInteger pages = new AtomicInteger();
+        AtomicInteger found = new AtomicInteger();
+        long startNanos = System.nanoTime();
+        Timer.Sample sample = crawlMetrics.startTimer();
+        crawlMetrics.crawlStarted();
+
+        AtomicReference<MoviePageResponseDto> firstPage = new AtomicReference<>();
+        Flux<DirectorStreamEventDto> crossings = fetchAllPages()
+                .doOnNext(page -> {
+                    if (pages.getAndIncrement() == 0) firstPage.set(page);
+                })
+                .concatMapIterable(page -> foldPage(ledger, page, threshold))
+                .doOnNext(event -> found.incrementAndGet());
+
+        Mono<DirectorStreamEventDto> completion = Mono.fromSupplier(() -> {
+            MoviePageResponseDto first = firstPage.get();
+            if (first != null) {
+                ledger.describe(first.getTotal(), first.getPer_page(), Math.max(1, first.getTotal_pages()));
+            }
+            DirectorSnapshot snapshot = DirectorSnapshot.from(ledger, Instant.now());
+            if (snapshot.isComplete()) {
+                publish(snapshot);
+                crawlMetrics.crawlMode("full");
+                incrementalRefreshes.set(0);
+                pageLedger.set(isIncrementalEnabled() && ledger.isComplete() ? ledger : null);
+            } else {
+                // Dropped pages: the counts answered this stream but must not be served as complete later
+                log.warn("Streamed crawl counted {} of {} pages, not publishing its counts",
+                        snapshot.getPagesFetched(), snapshot.getTotalPages());
+            }
+            crawlMetrics.crawlCompleted(sample, pages.get(), snapshot.getCounts().size());
+            log.info("Streamed {} directors above threshold {} from {} pages", found.get(), threshold, pages.get());
+            return DirectorStreamEventDto.complete(found.get(), pages.get(), elapsedMillis(startNanos), false);
+        });
+
+        return crossings
+                .concatWith(completion)
+                .doOnError(e -> crawlMetrics.crawlFailed(sample, pages.get()));
+    }
+
+    // Folds the page into the ledger and emits, once, every director whose count passed the threshold on it
+    private List<DirectorStreamEventDto> foldPage(PageLedger ledger, MoviePageResponseDto page, int threshold) {
+        PageTally tally = PageTally.of(page.getPage(), page.getMovieList(), ledger.getDimensions(),
+                ledger.isKeepingRows());
+        DirectorCounterState state = ledger.getState();
+
+        int directors = tally.size(MovieDimension.DIRECTOR);
+        int[] before = new int[directors];
+        for (int i = 0; i < directors; i++) {
+            before[i] = state.count(tally.keyAt(MovieDimension.DIRECTOR, i));
+        }
+        ledger.record(tally);
+
+        List<DirectorStreamEventDto> crossed = new ArrayList<>();
+        for (int i = 0; i < directors; i++) {
+            int after = before[i] + tally.moviesAt(MovieDimension.DIRECTOR, i);
+            if (before[i] <= threshold && after > threshold) {
+                crossed.add(DirectorStreamEventDto.director(tally.keyAt(MovieDimension.DIRECTOR, i), after));
+            }
+        }
+        return crossed;
+    }
+
+    private Flux<DirectorStreamEventDto> streamFromSnapshot(DirectorSnapshot snapshot, int threshold) {
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            List<String> directors = snapshot.above(threshold);
+            crawlMetrics.responseBuilt(directors.size());
+
+            return Flux.fromIterable(directors)
+                    .map(director -> DirectorStreamEventDto.director(director, snapshot.getCounts().get(director)))
+                    .concatWith(Mono.fromSupplier(() ->
+                            DirectorStreamEventDto.complete(directors.size(), null, elapsedMillis(startNanos), true)));
+        });
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private void publish(DirectorSnapshot snapshot) {
+        currentSnapshot.set(snapshot);
+        MovieStore store = snapshot.getMovieStore();
+        crawlMetrics.snapshotPublished(snapshot.getCounts().size(), store == null ? 0 : store.estimatedBytes());
+        log.info("Director snapshot refreshed: {} directors", snapshot.getCounts().size());
+    }
+
+    private boolean isSnapshotEnabled() {
+        Duration ttl = movieApiConfig.getSnapshotTtl();
+        return ttl != null && ttl.isPositive();
+    }
+
+    private <T> Mono<T> mapCrawlErrors(Mono<T> source) {
+        return mapCrawlErrors(source.flux()).singleOrEmpty();
+    }
+
+    /**
+     * Error contract of every crawl-backed answer: I/O failures become
+     * {@link ExternalServiceUnavailableException} (503); expected repository errors reach
+     * GlobalErrorHandler unchanged (4xx, 5xx, 429 and open circuit keep their own status); anything else is
+     * wrapped in a RuntimeException and answered as 500. A crawl never turns an error into an empty answer.
+     */
+    private <T> Flux<T> mapCrawlErrors(Flux<T> source) {
+        return source
                 .onErrorMap(IOException.class, this::mapToServiceUnavailable)
                 .onErrorMap(
                         ex -> ex instanceof WebClientRequestException
@@ -55,18 +612,83 @@ public class DirectorServiceImpl implements DirectorService {
                                 || ex.getCause() instanceof IOException,
                         ex -> new ExternalServiceUnavailableException("External service unreachable", ex)
                 )
-                .onErrorResume(this::propagateExpectedRepositoryErrors)
-                .onErrorResume(this::wrapUnexpectedErrors);
+                .onErrorResume(ex -> !isExpectedRepositoryError(ex), this::wrapUnexpectedErrors);
     }
 
-    private List<String> buildResult(DirectorCounterState state, int threshold) {
-        Map<String, Integer> counts = state.snapshot();
-        log.info("Director movie counts collected: {}", counts);
+    // Completeness, version and staleness of the snapshot behind an answer, shared by every snapshot response
+    private static <T extends SnapshotResponseDto> T applySnapshotMetadata(T response, DirectorSnapshot snapshot,
+                                                                          boolean stale) {
+        response.setStale(stale);
+        response.setPagesFetched(snapshot.getPagesFetched());
+        response.setPagesTotal(snapshot.getTotalPages());
+        response.setComplete(snapshot.isComplete());
+        response.setSnapshotVersion(snapshot.getVersion());
+        return response;
+    }
 
-        List<String> result = state.above(threshold);
+    private DirectorsResponseDto buildResponse(DirectorSnapshot snapshot, int threshold, boolean stale) {
+        return buildResponse(snapshot, snapshot.above(threshold), threshold, stale);
+    }
 
+    private DirectorsResponseDto buildResponse(DirectorSnapshot snapshot, List<String> result, int threshold,
+                                               boolean stale) {
         log.info("Found {} directors above threshold {}: {}", result.size(), threshold, result);
-        return result;
+        crawlMetrics.responseBuilt(result.size());
+        DirectorsResponseDto response = directorMapper.toResponse(result, snapshot.getCreatedAt());
+        return applySnapshotMetadata(response, snapshot, stale);
+    }
+
+    private DirectorsBatchResponseDto buildBatchResponse(DirectorSnapshot snapshot, List<Integer> thresholds, boolean stale) {
+        Map<Integer, List<String>> directorsByThreshold = new LinkedHashMap<>();
+        for (Integer threshold : thresholds) {
+            directorsByThreshold.computeIfAbsent(threshold,
+                    t -> t < 0 ? Collections.emptyList() : snapshot.above(t));
+        }
+
+        log.info("Answered {} thresholds from one snapshot", directorsByThreshold.size());
+        directorsByThreshold.values().forEach(directors -> crawlMetrics.responseBuilt(directors.size()));
+        DirectorsBatchResponseDto response = directorMapper.toBatchResponse(directorsByThreshold, snapshot.getCreatedAt());
+        return applySnapshotMetadata(response, snapshot, stale);
+    }
+
+    private TopDirectorsResponseDto buildTopResponse(DirectorSnapshot snapshot, int k, boolean stale) {
+        List<DirectorCount> top = snapshot.top(k);
+
+        log.info("Top {} directors: {}", k, top);
+        crawlMetrics.responseBuilt(top.size());
+        TopDirectorsResponseDto response = directorMapper.toTopResponse(top, snapshot.getCreatedAt());
+        return applySnapshotMetadata(response, snapshot, stale);
+    }
+
+    private DirectorResponseDto buildDirectorResponse(DirectorSnapshot snapshot, String name, boolean stale) {
+        DirectorCount director = snapshot.find(name);
+        if (director == null) {
+            return null;
+        }
+
+        crawlMetrics.responseBuilt(1);
+        DirectorResponseDto response = directorMapper.toDirectorResponse(director, snapshot.getCreatedAt());
+        return applySnapshotMetadata(response, snapshot, stale);
+    }
+
+    private DirectorSearchResponseDto buildSearchResponse(DirectorSnapshot snapshot, String prefix, int limit,
+                                                          boolean stale) {
+        List<DirectorCount> matches = snapshot.search(prefix, limit);
+
+        log.info("Found {} directors with prefix '{}'", matches.size(), prefix);
+        crawlMetrics.responseBuilt(matches.size());
+        DirectorSearchResponseDto response = directorMapper.toSearchResponse(prefix, matches, snapshot.getCreatedAt());
+        return applySnapshotMetadata(response, snapshot, stale);
+    }
+
+    private GroupResponseDto buildGroupResponse(DirectorSnapshot snapshot, MovieDimension dimension, int threshold,
+                                                boolean stale) {
+        List<String> result = snapshot.above(dimension, threshold);
+
+        log.info("Found {} {} above threshold {}", result.size(), dimension.getLabel(), threshold);
+        crawlMetrics.responseBuilt(result.size());
+        GroupResponseDto response = directorMapper.toGroupResponse(dimension.getLabel(), result, snapshot.getCreatedAt());
+        return applySnapshotMetadata(response, snapshot, stale);
     }
 
     private Flux<MoviePageResponseDto> fetchAllPages() {
@@ -87,16 +709,18 @@ public class DirectorServiceImpl implements DirectorService {
         // Crea un Flux para las páginas restantes (2 hasta totalPages)
         Flux<MoviePageResponseDto> remainingPages = Flux
                 .range(2, Math.max(0, totalPages - 1))  // rango 2..totalPages
-                .flatMap(this::safeGetMoviesPage);  // obtiene cada página de forma segura
+                .flatMap(this::safeGetMoviesPage, concurrencyLimiter.getMaxLimit());  // el limiter decide cuántas corren a la vez
 
         return Flux.concat(Mono.just(firstPage), remainingPages);
     }
 
     private Mono<MoviePageResponseDto> safeGetMoviesPage(int page) {
-        return movieRepository.getMovies(page)
+        return concurrencyLimiter.run(() -> movieRepository.getMovies(page))
                 .doOnNext(dto -> log.debug("Fetched page {}", page))
-                .onErrorResume(e -> {
+                // An open circuit fails the whole crawl rather than publishing counts with most pages missing
+                .onErrorResume(e -> !(e instanceof ExternalCircuitOpenException), e -> {
                     log.warn("Failed to fetch page {}: {}", page, e.getMessage());
+                    crawlMetrics.pageDropped();
                     return Mono.empty();
                 });
     }
@@ -106,13 +730,10 @@ public class DirectorServiceImpl implements DirectorService {
         return new ExternalServiceUnavailableException("External service unreachable", ex);
     }
 
-    private <T> Mono<T> propagateExpectedRepositoryErrors(Throwable ex) {
-        if (ex instanceof ExternalClientException ||
+    private static boolean isExpectedRepositoryError(Throwable ex) {
+        return ex instanceof ExternalClientException ||
                 ex instanceof ExternalServerException ||
-                ex instanceof ExternalServiceUnavailableException) {
-            return Mono.error(ex);
-        }
-        return Mono.empty();
+                ex instanceof ExternalServiceUnavailableException;
     }
 
     private <T> Mono<T> wrapUnexpectedErrors(Throwable ex) {
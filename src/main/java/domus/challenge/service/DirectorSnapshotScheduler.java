@@ -0,0 +1,104 @@
+package domus.challenge.service;
+
+import domus.challenge.config.ConnectionPrewarmer;
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.DirectorSnapshot;
+import domus.challenge.repository.DirectorSnapshotStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+
+/**
+ * Rebuilds the shared director snapshot in background every {@code movie.api.snapshot-ttl}.
+ * A failed refresh keeps the previous snapshot in place until the next tick.
+ * <p>
+ * When {@code movie.api.snapshot-file} is set, the last persisted snapshot is installed before the
+ * first refresh (so requests after a restart do not wait for a cold crawl) and every refreshed
+ * snapshot is written back.
+ * <p>
+ * The refresh loop starts once the application is ready, after {@link ConnectionPrewarmer#warmup()}
+ * completes, so the first crawl's fan-out finds the connection pool already open.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DirectorSnapshotScheduler {
+
+    private final DirectorService directorService;
+    private final DirectorSnapshotStore snapshotStore;
+    private final MovieApiConfig movieApiConfig;
+    private final ConnectionPrewarmer connectionPrewarmer;
+
+    private Disposable refreshLoop;
+
+    @PostConstruct
+    public void restore() {
+        if (isEnabled()) {
+            snapshotStore.load().ifPresent(directorService::restoreSnapshot);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!isEnabled()) {
+            log.info("Director snapshot refresh disabled");
+            connectionPrewarmer.warmup().subscribe();
+            return;
+        }
+
+        Duration ttl = movieApiConfig.getSnapshotTtl();
+        log.info("Scheduling director snapshot refresh every {}", ttl);
+
+        Flux<Long> refreshes = Mono.defer(directorService::refreshSnapshot)
+                .flatMap(this::persist)
+                .onErrorResume(e -> {
+                    log.warn("Director snapshot refresh failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then(Mono.delay(ttl))
+                .repeat();
+
+        refreshLoop = connectionPrewarmer.warmup()
+                .thenMany(refreshes)
+                .subscribe();
+    }
+
+    private boolean isEnabled() {
+        Duration ttl = movieApiConfig.getSnapshotTtl();
+        return ttl != null && ttl.isPositive();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (refreshLoop != null) {
+            refreshLoop.dispose();
+        }
+    }
+
+    private Mono<Void> persist(DirectorSnapshot snapshot) {
+        // A restored snapshot is taken as complete, so partial counts are never written
+        if (!snapshotStore.isEnabled() || !snapshot.isComplete()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> {
+                    snapshotStore.save(snapshot);
+                    return snapshot;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not persist director snapshot: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+}
@@ -3,7 +3,12 @@ package domus.challenge;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// No background crawl, prewarm or snapshot file: the context must load without reaching the upstream
+@SpringBootTest(properties = {
+		"movie.api.snapshot-ttl=0s",
+		"movie.api.prewarm-connections=0",
+		"movie.api.snapshot-file="
+})
 class ChallengeApplicationTests {
 
 	@Test
@@ -1,14 +1,27 @@
 package domus.challenge.controllers;
 
+import domus.challenge.domain.MovieFilter;
+import domus.challenge.domain.MovieRating;
+import domus.challenge.dto.DirectorStreamEventDto;
 import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.exceptions.GlobalErrorHandler;
 import domus.challenge.service.DirectorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import java.time.Instant;
 import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -37,7 +50,7 @@ class DirectorControllerTest {
                 .thenReturn(Mono.just(dto));
 
         // When
-        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(1);
+        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(1, null, null, null, null);
 
         // Then
         StepVerifier.create(result)
@@ -53,6 +66,29 @@ class DirectorControllerTest {
         verifyNoMoreInteractions(directorService);
     }
 
+    @Test
+    @DisplayName("Should answer 500 for unexpected crawl errors and keep the status of upstream errors")
+    void givenCrawlErrors_whenGetDirectors_thenStatusFollowsErrorContract() {
+        // Given
+        WebTestClient client = WebTestClient.bindToController(controller)
+                .controllerAdvice(new GlobalErrorHandler())
+                .build();
+        when(directorService.findDirectorsAboveThreshold(1))
+                .thenReturn(Mono.error(new RuntimeException("Unexpected error processing directors",
+                        new IllegalStateException("boom"))))
+                .thenReturn(Mono.error(new ExternalServerException("Server error calling Movie API")));
+
+        // When / Then
+        client.get().uri("/api/directors?threshold=1").exchange()
+                .expectStatus().isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Unexpected error");
+        client.get().uri("/api/directors?threshold=1").exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_GATEWAY)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("External API has internal errors");
+    }
+
     @Test
     @DisplayName("Should return 200 with empty list when service returns empty")
     void givenEmptyDirectors_whenGetDirectors_thenReturn200WithEmptyList() {
@@ -61,7 +97,7 @@ class DirectorControllerTest {
         when(directorService.findDirectorsAboveThreshold(0)).thenReturn(Mono.just(dto));
 
         // When
-        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(0);
+        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(0, null, null, null, null);
 
         // Then
         StepVerifier.create(result)
@@ -75,6 +111,33 @@ class DirectorControllerTest {
         verifyNoMoreInteractions(directorService);
     }
 
+    @Test
+    @DisplayName("Should pass the genre, rating and year filters to the service")
+    void givenFilters_whenGetDirectors_thenQueryFilteredCounts() {
+        // Given
+        MovieFilter filter = MovieFilter.builder().genre("Drama").rated(MovieRating.PG_13).yearFrom(2000).build();
+        DirectorsResponseDto dto = DirectorsResponseDto.builder().directors(List.of("Nolan")).build();
+        when(directorService.findDirectorsAboveThreshold(3, filter)).thenReturn(Mono.just(dto));
+
+        // When
+        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(3, " Drama ", "PG-13", 2000, null);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(resp -> resp.getBody().getDirectors().equals(List.of("Nolan")))
+                .verifyComplete();
+        verify(directorService, times(1)).findDirectorsAboveThreshold(3, filter);
+        verifyNoMoreInteractions(directorService);
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown rating")
+    void givenUnknownRating_whenGetDirectors_thenBadRequest() {
+        // When / Then
+        assertThrows(ServerWebInputException.class, () -> controller.getDirectors(3, null, "XXX", null, null));
+        verifyNoMoreInteractions(directorService);
+    }
+
     @Test
     @DisplayName("Should propagate error from service")
     void givenServiceThrows_whenGetDirectors_thenReturnError() {
@@ -83,7 +146,7 @@ class DirectorControllerTest {
         when(directorService.findDirectorsAboveThreshold(5)).thenReturn(Mono.error(ex));
 
         // When
-        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(5);
+        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(5, null, null, null, null);
 
         // Then
         StepVerifier.create(result)
@@ -94,4 +157,69 @@ class DirectorControllerTest {
         verify(directorService, times(1)).findDirectorsAboveThreshold(5);
         verifyNoMoreInteractions(directorService);
     }
+
+    @Test
+    @DisplayName("Should expose snapshot age in response headers")
+    void givenSnapshotResult_whenGetDirectors_thenReturnAgeHeaders() {
+        // Given
+        Instant generatedAt = Instant.now().minusSeconds(30);
+        DirectorsResponseDto dto = DirectorsResponseDto.builder()
+                .directors(List.of("James Cameron"))
+                .generatedAt(generatedAt)
+                .build();
+        when(directorService.findDirectorsAboveThreshold(1)).thenReturn(Mono.just(dto));
+
+        // When
+        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(1, null, null, null, null);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(resp -> resp.getHeaders().getFirst(HttpHeaders.AGE) != null &&
+                        Long.parseLong(resp.getHeaders().getFirst(HttpHeaders.AGE)) >= 30 &&
+                        resp.getHeaders().getLastModified() == generatedAt.toEpochMilli() / 1000 * 1000
+                )
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should name each SSE event after its type")
+    void givenStreamEvents_whenStreamDirectors_thenReturnNamedServerSentEvents() {
+        // Given
+        when(directorService.streamDirectorsAboveThreshold(1)).thenReturn(Flux.just(
+                DirectorStreamEventDto.director("James Cameron", 2),
+                DirectorStreamEventDto.complete(1, 1, 5, false)));
+
+        // When
+        Flux<ServerSentEvent<DirectorStreamEventDto>> result = controller.streamDirectors(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(sse -> "director".equals(sse.event()) &&
+                        sse.data() != null &&
+                        "James Cameron".equals(sse.data().getDirector()))
+                .expectNextMatches(sse -> "complete".equals(sse.event()) &&
+                        sse.data() != null &&
+                        sse.data().getDirectorsFound() == 1)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should flag answers served from a stale snapshot")
+    void givenStaleResult_whenGetDirectors_thenReturnStaleHeader() {
+        // Given
+        DirectorsResponseDto dto = DirectorsResponseDto.builder()
+                .directors(List.of("James Cameron"))
+                .generatedAt(Instant.now().minusSeconds(600))
+                .stale(true)
+                .build();
+        when(directorService.findDirectorsAboveThreshold(1)).thenReturn(Mono.just(dto));
+
+        // When
+        Mono<ResponseEntity<DirectorsResponseDto>> result = controller.getDirectors(1, null, null, null, null);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(resp -> "true".equals(resp.getHeaders().getFirst(DirectorController.STALE_HEADER)))
+                .verifyComplete();
+    }
 }
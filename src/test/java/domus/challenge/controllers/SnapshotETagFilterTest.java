@@ -0,0 +1,122 @@
+package domus.challenge.controllers;
+
+import domus.challenge.metrics.CrawlMetrics;
+import domus.challenge.service.DirectorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class SnapshotETagFilterTest {
+
+    private DirectorService directorService;
+    private SnapshotETagFilter filter;
+    private AtomicBoolean handled;
+    private WebFilterChain chain;
+
+    @BeforeEach
+    void setup() {
+        directorService = mock(DirectorService.class);
+        filter = new SnapshotETagFilter(directorService, new CrawlMetrics(new SimpleMeterRegistry()));
+        handled = new AtomicBoolean();
+        chain = exchange -> {
+            handled.set(true);
+            return Mono.empty();
+        };
+    }
+
+    @Test
+    @DisplayName("Should answer 304 without running the handler when If-None-Match names the current snapshot")
+    void givenMatchingETag_whenFilter_thenNotModifiedWithoutHandler() {
+        // Given
+        when(directorService.currentSnapshotVersion()).thenReturn(42L);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors?threshold=3")
+                .ifNoneMatch("W/" + SnapshotResponses.etag(42L)));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertFalse(handled.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, exchange.getResponse().getStatusCode());
+        assertEquals(SnapshotResponses.etag(42L), exchange.getResponse().getHeaders().getETag());
+        assertEquals("no-cache", exchange.getResponse().getHeaders().getCacheControl());
+    }
+
+    @Test
+    @DisplayName("Should run the handler when the ETag is outdated, a crawl is needed, or the endpoint streams")
+    void givenNoUsableMatch_whenFilter_thenRunHandler() {
+        // Given
+        when(directorService.currentSnapshotVersion()).thenReturn(43L, (Long) null);
+        String oldETag = SnapshotResponses.etag(42L);
+
+        // When / Then
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors?threshold=3").ifNoneMatch(oldETag)), chain)).verifyComplete();
+        assertTrue(handled.getAndSet(false));
+
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors?threshold=3").ifNoneMatch(oldETag)), chain)).verifyComplete();
+        assertTrue(handled.getAndSet(false));
+
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors/stream?threshold=3").ifNoneMatch(oldETag)), chain)).verifyComplete();
+        assertTrue(handled.get());
+    }
+
+    @Test
+    @DisplayName("Should run the handler for a director lookup even when its ETag names the current snapshot")
+    void givenMatchingETagOnLookup_whenFilter_thenRunHandler() {
+        // Given
+        when(directorService.currentSnapshotVersion()).thenReturn(42L);
+        String etag = SnapshotResponses.etag(42L);
+
+        // When / Then
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors/Nobody").ifNoneMatch(etag)), chain)).verifyComplete();
+        assertTrue(handled.getAndSet(false));
+
+        StepVerifier.create(filter.filter(MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors/search?prefix=No").ifNoneMatch(etag)), chain)).verifyComplete();
+        assertTrue(handled.getAndSet(false));
+
+        MockServerWebExchange top = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors/top?k=3").ifNoneMatch(etag));
+        StepVerifier.create(filter.filter(top, chain)).verifyComplete();
+        assertFalse(handled.get());
+        assertEquals(HttpStatus.NOT_MODIFIED, top.getResponse().getStatusCode());
+    }
+
+    @Test
+    @DisplayName("Should run the handler for If-None-Match: * even when a snapshot is current")
+    void givenWildcard_whenFilter_thenRunHandler() {
+        // Given
+        when(directorService.currentSnapshotVersion()).thenReturn(42L);
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest
+                .get("/api/directors?threshold=3")
+                .ifNoneMatch("*"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertTrue(handled.get());
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+}
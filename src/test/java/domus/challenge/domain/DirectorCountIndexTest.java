@@ -0,0 +1,54 @@
+package domus.challenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectorCountIndexTest {
+
+    @Test
+    @DisplayName("Should answer every threshold like a full scan, sorted by name")
+    void givenRandomCounts_whenAbove_thenMatchFullScan() {
+        // Given
+        DirectorCounterState state = new DirectorCounterState();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 20_000; i++) {
+            double u = random.nextDouble();
+            state.add(Movie.builder().director("Director " + (int) (2_000 * u * u)).build());
+        }
+
+        // When
+        DirectorCountIndex index = DirectorCountIndex.build(state.frozenCounts());
+
+        // Then
+        for (int threshold = 0; threshold <= 300; threshold++) {
+            List<String> expected = state.above(threshold);
+            assertEquals(expected, index.above(threshold), "threshold " + threshold);
+            assertEquals(expected.size(), index.countAbove(threshold));
+        }
+    }
+
+    @Test
+    @DisplayName("Should return an empty list above the highest count and for an empty counter")
+    void givenThresholdAboveMax_whenAbove_thenReturnEmpty() {
+        // Given
+        DirectorCounterState state = new DirectorCounterState();
+        state.add(Movie.builder().director("James Cameron").build());
+        state.add(Movie.builder().director("James Cameron").build());
+        state.add(Movie.builder().director("Tarantino").build());
+
+        // When
+        DirectorCountIndex index = DirectorCountIndex.build(state.frozenCounts());
+
+        // Then
+        assertEquals(List.of("James Cameron", "Tarantino"), index.above(0));
+        assertEquals(List.of("James Cameron"), index.above(1));
+        assertTrue(index.above(2).isEmpty());
+        assertTrue(DirectorCountIndex.build(new StringIntCounter()).above(0).isEmpty());
+    }
+}
@@ -0,0 +1,51 @@
+package domus.challenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DirectorNameIndexTest {
+
+    @Test
+    @DisplayName("Should return the directors starting with the prefix, ignoring case, in name order and capped")
+    void givenCounts_whenSearch_thenReturnPrefixRunUpToLimit() {
+        // Given
+        StringIntCounter counts = new StringIntCounter();
+        counts.add("Christopher Nolan", 5);
+        counts.add("chris Columbus", 2);
+        counts.add("Christian Petzold", 1);
+        counts.add("Clint Eastwood", 9);
+        counts.add("Chr", 1);
+        DirectorNameIndex index = DirectorNameIndex.build(counts);
+
+        // When
+        List<DirectorCount> chris = index.search("CHRIS", 10);
+        List<DirectorCount> capped = index.search("chr", 2);
+
+        // Then
+        assertEquals(List.of(
+                new DirectorCount("chris Columbus", 2),
+                new DirectorCount("Christian Petzold", 1),
+                new DirectorCount("Christopher Nolan", 5)), chris);
+        assertEquals(List.of(new DirectorCount("Chr", 1), new DirectorCount("chris Columbus", 2)), capped);
+        assertEquals(List.of(), index.search("Z", 10));
+    }
+
+    @Test
+    @DisplayName("Should find a director by name ignoring case")
+    void givenCounts_whenFindIgnoreCase_thenMatchWholeName() {
+        // Given
+        StringIntCounter counts = new StringIntCounter();
+        counts.add("James Cameron", 7);
+        counts.add("James Cameron Jr", 1);
+        DirectorNameIndex index = DirectorNameIndex.build(counts);
+
+        // When / Then
+        assertEquals(new DirectorCount("James Cameron", 7), index.findIgnoreCase("james cameron"));
+        assertNull(index.findIgnoreCase("james"));
+    }
+}
@@ -0,0 +1,124 @@
+package domus.challenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageLedgerTest {
+
+    @Test
+    @DisplayName("Should count the same whatever order the page tallies are folded in")
+    void givenShuffledTallies_whenRecord_thenMatchPerMovieCounts() {
+        // Given
+        SplittableRandom random = new SplittableRandom(11);
+        Map<String, Integer> expected = new HashMap<>();
+        List<PageTally> tallies = new ArrayList<>();
+        for (int page = 1; page <= 200; page++) {
+            List<Movie> movies = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                String director = "Director " + random.nextInt(300);
+                movies.add(Movie.builder().title("Movie " + page + "-" + i).director(director).build());
+                expected.merge(director, 1, Integer::sum);
+            }
+            tallies.add(PageTally.of(page, movies));
+        }
+        Collections.shuffle(tallies, new Random(3));
+
+        // When
+        PageLedger ledger = new PageLedger(new DirectorCounterState());
+        tallies.forEach(ledger::record);
+        ledger.describe(2_000, 10, 200);
+
+        // Then
+        assertEquals(expected, ledger.getState().snapshot());
+        assertEquals(200, ledger.recordedPages());
+        assertTrue(ledger.isComplete());
+    }
+
+    @Test
+    @DisplayName("Should take back a page's previous contribution when it is replaced")
+    void givenRecordedPage_whenReplace_thenSwapContribution() {
+        // Given
+        List<Movie> before = List.of(movie("A"), movie("A"), movie("B"));
+        List<Movie> after = List.of(movie("B"), movie("C"));
+        PageLedger ledger = new PageLedger(new DirectorCounterState());
+        ledger.record(1, before);
+
+        // When
+        ledger.replace(1, after);
+
+        // Then
+        assertEquals(Map.of("A", 0, "B", 1, "C", 1), ledger.getState().snapshot());
+        assertTrue(ledger.matches(1, after));
+        assertFalse(ledger.matches(1, before));
+    }
+
+    @Test
+    @DisplayName("Should keep the movies as columns that filter and count like the movie list")
+    void givenLedgerKeepingRows_whenCountByDirector_thenMatchFilteredMovies() {
+        // Given
+        SplittableRandom random = new SplittableRandom(5);
+        String[] genres = {"Drama", "Comedy", "Action", "Horror"};
+        List<Movie> all = new ArrayList<>();
+        PageLedger ledger = new PageLedger(new DirectorCounterState(), Set.of(), true);
+        for (int page = 1; page <= 30; page++) {
+            List<Movie> movies = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                movies.add(Movie.builder()
+                        .title("Movie " + page + "-" + i)
+                        .director("Director " + random.nextInt(40))
+                        .genre(genres[random.nextInt(4)] + ", " + genres[random.nextInt(4)])
+                        .year(String.valueOf(1980 + random.nextInt(40)))
+                        .rated(MovieRating.values()[random.nextInt(MovieRating.values().length)])
+                        .build());
+            }
+            ledger.record(PageTally.of(page, movies, ledger.getDimensions(), true));
+            all.addAll(movies);
+        }
+        // A changed page must leave no trace of its old rows
+        List<Movie> replaced = List.of(Movie.builder().title("New").director("Director 0").genre("Drama")
+                .year("2001").rated(MovieRating.R).build());
+        all.subList(0, 10).clear();
+        all.addAll(0, replaced);
+        ledger.replace(1, replaced);
+        ledger.describe(291, 10, 30);
+
+        Map<String, Integer> expected = new HashMap<>();
+        for (Movie movie : all) {
+            if (movie.getGenre().contains("Drama") && movie.getRated() == MovieRating.R
+                    && Integer.parseInt(movie.getYear()) >= 2000) {
+                expected.merge(movie.getDirector(), 1, Integer::sum);
+            }
+        }
+
+        // When
+        MovieStore store = ledger.movieStore();
+        int drama = store.genreCode("Drama");
+        int[] counts = store.countByDirector(row -> store.hasGenre(row, drama)
+                && store.rating(row) == MovieRating.R && store.year(row) >= 2000);
+
+        // Then
+        Map<String, Integer> actual = new HashMap<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) actual.put(store.directorName(code), counts[code]);
+        }
+        assertEquals(291, store.size());
+        assertEquals(expected, actual);
+    }
+
+    private static Movie movie(String director) {
+        return Movie.builder().title(director + " movie").director(director).build();
+    }
+}
@@ -0,0 +1,63 @@
+package domus.challenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RowBitmapTest {
+
+    @Test
+    @DisplayName("Should AND and OR like a BitSet across sparse and dense chunks")
+    void givenSparseAndDenseRows_whenCombine_thenMatchBitSet() {
+        // Given: chunk 0 dense in one bitmap and sparse in the other, chunk 2 only in one of them
+        SplittableRandom random = new SplittableRandom(7);
+        BitSet dense = new BitSet();
+        BitSet sparse = new BitSet();
+        for (int row = 0; row < 200_000; row++) {
+            if (row < 65_536 ? random.nextInt(3) == 0 : random.nextInt(100) == 0) dense.set(row);
+            if (row < 131_072 && random.nextInt(50) == 0) sparse.set(row);
+        }
+
+        // When
+        RowBitmap a = bitmapOf(dense);
+        RowBitmap b = bitmapOf(sparse);
+        BitSet and = (BitSet) dense.clone();
+        and.and(sparse);
+        BitSet or = (BitSet) dense.clone();
+        or.or(sparse);
+
+        // Then
+        assertEquals(and, bitSetOf(a.and(b)));
+        assertEquals(and.cardinality(), a.and(b).cardinality());
+        assertEquals(or, bitSetOf(a.or(b)));
+        assertEquals(or.cardinality(), b.or(a).cardinality());
+        assertEquals(dense, bitSetOf(a.and(RowBitmap.range(200_000))));
+    }
+
+    @Test
+    @DisplayName("Should reject rows added out of order")
+    void givenDescendingRows_whenAdd_thenReject() {
+        // Given
+        RowBitmap.Builder builder = new RowBitmap.Builder().add(5);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> builder.add(3));
+    }
+
+    private static RowBitmap bitmapOf(BitSet rows) {
+        RowBitmap.Builder builder = new RowBitmap.Builder();
+        rows.stream().forEach(builder::add);
+        return builder.build();
+    }
+
+    private static BitSet bitSetOf(RowBitmap bitmap) {
+        BitSet rows = new BitSet();
+        bitmap.forEach(rows::set);
+        return rows;
+    }
+}
@@ -0,0 +1,75 @@
+package domus.challenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class StringIntCounterTest {
+
+    @Test
+    @DisplayName("Should count like a HashMap across many resizes")
+    void givenManyKeys_whenIncrement_thenMatchHashMapCounts() {
+        // Given
+        StringIntCounter counter = new StringIntCounter();
+        Map<String, Integer> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(7);
+
+        // When
+        for (int i = 0; i < 50_000; i++) {
+            String key = "Director " + random.nextInt(5_000);
+            counter.increment(key);
+            expected.merge(key, 1, Integer::sum);
+        }
+
+        // Then
+        assertEquals(expected.size(), counter.size());
+        assertEquals(expected, counter.asMap());
+        expected.forEach((key, count) -> assertEquals(count, counter.get(key)));
+    }
+
+    @Test
+    @DisplayName("Should assign dense ids in first-seen order")
+    void givenKeys_whenIntern_thenReturnDenseIds() {
+        // Given
+        StringIntCounter counter = new StringIntCounter();
+
+        // When
+        int cameron = counter.intern("James Cameron");
+        int tarantino = counter.intern("Tarantino");
+        counter.incrementId(cameron);
+        counter.incrementId(cameron);
+
+        // Then
+        assertEquals(0, cameron);
+        assertEquals(1, tarantino);
+        assertEquals(cameron, counter.intern("James Cameron"));
+        assertEquals(2, counter.get("James Cameron"));
+        assertEquals(0, counter.get("Tarantino"));
+        assertEquals(-1, counter.idOf("Nolan"));
+    }
+
+    @Test
+    @DisplayName("Should keep copies independent from later changes")
+    void givenCopy_whenOriginalChanges_thenCopyStaysFrozen() {
+        // Given
+        StringIntCounter counter = new StringIntCounter();
+        counter.increment("A");
+        Map<String, Integer> snapshot = counter.copy().asMap();
+
+        // When
+        counter.increment("A");
+        counter.increment("B");
+
+        // Then
+        assertEquals(Map.of("A", 1), snapshot);
+        assertFalse(snapshot.containsKey("B"));
+        assertNull(snapshot.get("B"));
+    }
+}
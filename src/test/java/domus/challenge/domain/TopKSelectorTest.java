@@ -0,0 +1,49 @@
+package domus.challenge.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TopKSelectorTest {
+
+    @Test
+    @DisplayName("Should match a full sort by count then name for every k")
+    void givenRandomCounts_whenTop_thenMatchFullSort() {
+        // Given
+        StringIntCounter counts = new StringIntCounter();
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 20_000; i++) {
+            double u = random.nextDouble();
+            counts.increment("Director " + (int) (2_000 * u * u));
+        }
+
+        List<DirectorCount> sorted = new ArrayList<>();
+        counts.forEach((director, movies) -> sorted.add(new DirectorCount(director, movies)));
+        sorted.sort(Comparator.comparingInt(DirectorCount::getMovies).reversed()
+                .thenComparing(DirectorCount::getDirector));
+
+        // When / Then
+        for (int k : new int[]{1, 2, 10, 20, 500, sorted.size(), sorted.size() + 10}) {
+            assertEquals(sorted.subList(0, Math.min(k, sorted.size())), TopKSelector.top(counts, k), "k " + k);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return an empty list for k = 0 or an empty counter")
+    void givenNothingToSelect_whenTop_thenReturnEmpty() {
+        // Given
+        StringIntCounter counts = new StringIntCounter();
+        counts.increment("James Cameron");
+
+        // When / Then
+        assertTrue(TopKSelector.top(counts, 0).isEmpty());
+        assertTrue(TopKSelector.top(new StringIntCounter(), 5).isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package domus.challenge.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.Exceptions;
+
+import java.net.URI;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CrawlMetricsTest {
+
+    @Test
+    @DisplayName("Should tag a Netty read timeout wrapped by WebClient as TIMEOUT")
+    void givenWrappedReadTimeout_whenPageFetched_thenTaggedTimeout() {
+        // Given
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CrawlMetrics metrics = new CrawlMetrics(registry);
+        WebClientRequestException timeout = new WebClientRequestException(ReadTimeoutException.INSTANCE,
+                HttpMethod.GET, URI.create("http://upstream/api/movies/search?page=2"), new HttpHeaders());
+
+        // When
+        metrics.pageFetched(metrics.startTimer(), CrawlMetrics.statusOf(timeout), 1);
+
+        // Then
+        assertEquals(1, registry.get("movie.api.page.latency").tag("status", "TIMEOUT").timer().count());
+    }
+
+    @Test
+    @DisplayName("Should find a Reactor timeout anywhere in the cause chain")
+    void givenNestedReactorTimeout_whenStatusOf_thenTimeout() {
+        // Given
+        RuntimeException nested = new IllegalStateException("page 3",
+                Exceptions.propagate(new TimeoutException("Did not observe any item")));
+
+        // When / Then
+        assertEquals("TIMEOUT", CrawlMetrics.statusOf(nested));
+        assertEquals("IO_ERROR", CrawlMetrics.statusOf(new IllegalStateException("connection reset")));
+    }
+}
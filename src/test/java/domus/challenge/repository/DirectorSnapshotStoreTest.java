@@ -0,0 +1,98 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.DirectorCounterState;
+import domus.challenge.domain.DirectorSnapshot;
+import domus.challenge.domain.Movie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectorSnapshotStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private DirectorSnapshotStore store;
+
+    @BeforeEach
+    void setup() {
+        file = tempDir.resolve("snapshots/directors.bin");
+
+        MovieApiConfig config = new MovieApiConfig();
+        config.setSnapshotFile(file);
+        store = new DirectorSnapshotStore(config);
+    }
+
+    @Test
+    @DisplayName("Should read back the counts and crawl metadata that were saved")
+    void givenSavedSnapshot_whenLoad_thenRestoreCountsAndMetadata() throws IOException {
+        // Given
+        DirectorCounterState state = new DirectorCounterState();
+        state.add(Movie.builder().director("James Cameron").build());
+        state.add(Movie.builder().director("James Cameron").build());
+        state.add(Movie.builder().director("Pedro Almodóvar").build());
+        Instant createdAt = Instant.ofEpochMilli(1_700_000_000_123L);
+        store.save(DirectorSnapshot.from(state, createdAt, 3, 1));
+
+        // When
+        Optional<DirectorSnapshot> loaded = store.load();
+
+        // Then
+        assertTrue(loaded.isPresent());
+        assertEquals(state.snapshot(), loaded.get().getCounts());
+        assertEquals(createdAt, loaded.get().getCreatedAt());
+        assertEquals(3, loaded.get().getTotalMovies());
+        assertEquals(1, loaded.get().getTotalPages());
+        assertEquals(List.of("James Cameron"), loaded.get().above(1));
+    }
+
+    @Test
+    @DisplayName("Should ignore a file whose checksum does not match")
+    void givenCorruptedFile_whenLoad_thenReturnEmpty() throws IOException {
+        // Given
+        DirectorCounterState state = new DirectorCounterState();
+        state.add(Movie.builder().director("Tarantino").build());
+        store.save(DirectorSnapshot.from(state, Instant.now(), 1, 1));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 6] ^= 0x20; // flip a bit inside the last director name
+        Files.write(file, bytes);
+
+        // When / Then
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should ignore a file written with another format version")
+    void givenOtherVersion_whenLoad_thenReturnEmpty() throws IOException {
+        // Given
+        DirectorCounterState state = new DirectorCounterState();
+        state.add(Movie.builder().director("Tarantino").build());
+        byte[] bytes = DirectorSnapshotStore.encode(DirectorSnapshot.from(state, Instant.now()));
+        bytes[5] = (byte) (DirectorSnapshotStore.VERSION + 1);
+        Files.createDirectories(file.getParent());
+        Files.write(file, bytes);
+
+        // When / Then
+        assertTrue(store.load().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should return empty when no snapshot was ever saved")
+    void givenMissingFile_whenLoad_thenReturnEmpty() {
+        assertTrue(store.load().isEmpty());
+    }
+}
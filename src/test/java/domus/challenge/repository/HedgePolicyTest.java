@@ -0,0 +1,38 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HedgePolicyTest {
+
+    @Test
+    @DisplayName("Should derive the hedge delay from the latest window of latencies only")
+    void givenMoreSamplesThanWindow_whenHedgeDelay_thenOldSamplesAreOverwritten() {
+        // Given
+        MovieApiConfig config = new MovieApiConfig();
+        config.setHedgeEnabled(true);
+        config.setHedgePercentile(0.5);
+        config.setHedgeMinDelay(Duration.ZERO);
+        config.setHedgeBudgetRatio(0.1);
+        HedgePolicy policy = new HedgePolicy(config, new SimpleMeterRegistry());
+        assertNull(policy.hedgeDelay());
+
+        // When
+        for (int i = 0; i < HedgePolicy.WINDOW * 3; i++) {
+            policy.recordLatency(Duration.ofMillis(1).toNanos());
+        }
+        for (int i = 0; i < HedgePolicy.WINDOW; i++) {
+            policy.recordLatency(Duration.ofMillis(100).toNanos());
+        }
+
+        // Then
+        assertEquals(Duration.ofMillis(100), policy.hedgeDelay());
+    }
+}
@@ -1,14 +1,19 @@
 package domus.challenge.repository;
 
 import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.MovieRating;
 import domus.challenge.dto.MoviePageResponseDto;
 import domus.challenge.exceptions.ExternalClientException;
+import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.metrics.CrawlMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
 import org.springframework.util.unit.DataSize;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
@@ -16,6 +21,8 @@ import reactor.test.StepVerifier;
 
 import java.io.IOException;
 import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -51,17 +58,35 @@ class MovieRepositoryImplTest {
             }
             """;
 
+    private static final String FULL_PAGE_UNKNOWN_RATING = """
+            {
+              "page": 2,
+              "per_page": 10,
+              "total": 12,
+              "total_pages": 2,
+              "extra": {"nested": [1, 2, {"deep": true}]},
+              "data": [
+                {"Title": "Avatar", "Year": "2009", "Rated": "TV-MA", "Director": "James Cameron",
+                 "Writer": "James Cameron", "Actors": "Sam Worthington", "Ratings": [{"Source": "x"}]},
+                {"Title": "Pulp Fiction", "Rated": "R", "Director": "Tarantino"}
+              ]
+            }
+            """;
+
     private static final String MALFORMED_JSON = "{ invalid json ";
 
     private MockWebServer mockWebServer;
     private MovieRepositoryImpl repository;
     private MovieApiConfig config;
+    private SimpleMeterRegistry meterRegistry;
 
     @BeforeEach
     void setup() throws IOException {
         mockWebServer = new MockWebServer();
         mockWebServer.start();
 
+        meterRegistry = new SimpleMeterRegistry();
+
         config = new MovieApiConfig();
         config.setBaseUrl(mockWebServer.url("/").toString());
         config.setSearchPath("/search");
@@ -78,7 +103,8 @@ class MovieRepositoryImplTest {
                 .baseUrl(config.getBaseUrl())
                 .build();
 
-        repository = new MovieRepositoryImpl(webClient, config);
+        repository = new MovieRepositoryImpl(webClient, config, new CrawlMetrics(meterRegistry),
+                new HedgePolicy(config, meterRegistry), new RetryBudget(config, meterRegistry));
     }
 
     @AfterEach
@@ -164,6 +190,8 @@ class MovieRepositoryImplTest {
                 .verifyComplete();
 
         assertEquals(2, mockWebServer.getRequestCount(), "Expected 2 requests (including retry)");
+        assertEquals(1, meterRegistry.get("movie.api.page.latency").tags("status", "5xx", "attempt", "1").timer().count());
+        assertEquals(1, meterRegistry.get("movie.api.page.latency").tags("status", "2xx", "attempt", "2").timer().count());
     }
 
     @Test
@@ -183,4 +211,136 @@ class MovieRepositoryImplTest {
                 .expectError()
                 .verify();
     }
+
+    @Test
+    @DisplayName("Should decode only projected fields and tolerate unknown ratings")
+    void givenProjection_whenGetMovies_thenDecodeDirectorsOnly() {
+        // given
+        config.setProjectionFields(List.of("Director"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(FULL_PAGE_UNKNOWN_RATING)
+                .addHeader("Content-Type", "application/json")
+        );
+
+        // when
+        Mono<MoviePageResponseDto> result = repository.getMovies(2);
+
+        // then
+        StepVerifier.create(result)
+                .expectNextMatches(dto -> dto.getPage() == 2 &&
+                        dto.getTotal_pages() == 2 &&
+                        dto.getTotal() == 12 &&
+                        dto.getMovieList().size() == 2 &&
+                        "James Cameron".equals(dto.getMovieList().get(0).getDirector()) &&
+                        dto.getMovieList().get(0).getTitle() == null &&
+                        dto.getMovieList().get(0).getRated() == null &&
+                        "Tarantino".equals(dto.getMovieList().get(1).getDirector()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should tolerate unknown ratings with the full binding too")
+    void givenUnknownRating_whenGetMoviesWithoutProjection_thenRatingIsNull() {
+        // given
+        config.setProjectionFields(List.of());
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(FULL_PAGE_UNKNOWN_RATING)
+                .addHeader("Content-Type", "application/json")
+        );
+
+        // when
+        Mono<MoviePageResponseDto> result = repository.getMovies(2);
+
+        // then
+        StepVerifier.create(result)
+                .expectNextMatches(dto -> dto.getMovieList().size() == 2 &&
+                        "Avatar".equals(dto.getMovieList().get(0).getTitle()) &&
+                        dto.getMovieList().get(0).getRated() == null &&
+                        dto.getMovieList().get(1).getRated() == MovieRating.R)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should fail with a decoding error on malformed JSON in projection mode")
+    void givenProjectionAndMalformedJson_whenGetMovies_thenThrowException() {
+        // given
+        config.setProjectionFields(List.of("Director"));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(MALFORMED_JSON)
+                .addHeader("Content-Type", "application/json")
+        );
+
+        // when
+        Mono<MoviePageResponseDto> result = repository.getMovies(1);
+
+        // then
+        StepVerifier.create(result)
+                .expectError(DecodingException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow page and return the faster duplicate answer")
+    void givenSlowFirstResponse_whenGetMovies_thenHedgeAndReturnFaster() {
+        // Given
+        config.setHedgeEnabled(true);
+        config.setHedgePercentile(0.95);
+        config.setHedgeMinDelay(Duration.ofMillis(50));
+        config.setHedgeBudgetRatio(1.0);
+        HedgePolicy hedgePolicy = new HedgePolicy(config, meterRegistry);
+        for (int i = 0; i < HedgePolicy.MIN_SAMPLES; i++) {
+            hedgePolicy.recordLatency(Duration.ofMillis(10).toNanos());
+        }
+        repository = new MovieRepositoryImpl(WebClient.builder().baseUrl(config.getBaseUrl()).build(), config,
+                new CrawlMetrics(meterRegistry), hedgePolicy, new RetryBudget(config, meterRegistry));
+
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(VALID_RESPONSE)
+                .addHeader("Content-Type", "application/json")
+                .setHeadersDelay(3, TimeUnit.SECONDS));
+        mockWebServer.enqueue(new MockResponse()
+                .setBody(VALID_RESPONSE_TARANTINO)
+                .addHeader("Content-Type", "application/json"));
+
+        // When
+        Mono<MoviePageResponseDto> result = repository.getMovies(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(dto -> "Tarantino".equals(dto.getMovieList().get(0).getDirector()))
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+
+        assertEquals(2, mockWebServer.getRequestCount());
+        assertEquals(1, meterRegistry.get("movie.api.hedge.fired").counter().count());
+        assertEquals(1, meterRegistry.get("movie.api.hedge.won").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stop retrying once the shared retry budget is exhausted")
+    void givenExhaustedRetryBudget_whenGetMovies_thenFailWithoutFurtherRetries() {
+        // Given
+        config.setRetryMaxAttempts(3);
+        config.setRetryBackoff(Duration.ofMillis(1));
+        config.setRetryBudgetRatio(0.1);
+        config.setRetryBudgetMaxTokens(1);
+        repository = new MovieRepositoryImpl(WebClient.builder().baseUrl(config.getBaseUrl()).build(), config,
+                new CrawlMetrics(meterRegistry), new HedgePolicy(config, meterRegistry), new RetryBudget(config, meterRegistry));
+
+        for (int i = 0; i < 3; i++) {
+            mockWebServer.enqueue(new MockResponse().setResponseCode(503).setBody("Server error"));
+        }
+
+        // When
+        Mono<MoviePageResponseDto> result = repository.getMovies(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(ExternalServerException.class)
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(2, mockWebServer.getRequestCount(), "Expected the first attempt plus one budgeted retry");
+        assertEquals(1, meterRegistry.get("movie.api.retry.allowed").counter().count());
+        assertEquals(1, meterRegistry.get("movie.api.retry.denied").counter().count());
+    }
 }
@@ -0,0 +1,53 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryBudgetTest {
+
+    @Test
+    @DisplayName("Should refill the budget only from successful requests")
+    void givenDrainedBudget_whenSuccessesRecorded_thenRetryAllowedAgain() {
+        // Given
+        MovieApiConfig config = new MovieApiConfig();
+        config.setRetryBudgetRatio(0.25);
+        config.setRetryBudgetMaxTokens(2);
+        RetryBudget budget = new RetryBudget(config, new SimpleMeterRegistry());
+        assertTrue(budget.tryRetry());
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            budget.recordSuccess();
+        }
+
+        // Then
+        assertTrue(budget.tryRetry());
+        assertFalse(budget.tryRetry());
+    }
+
+    @Test
+    @DisplayName("Should draw full-jitter backoff below the exponential ceiling and the cap")
+    void givenRetries_whenBackoff_thenScaledByJitterAndCapped() {
+        // Given
+        MovieApiConfig config = new MovieApiConfig();
+        config.setRetryBackoff(Duration.ofMillis(100));
+        config.setRetryMaxBackoff(Duration.ofSeconds(1));
+        RetryBudget budget = new RetryBudget(config, new SimpleMeterRegistry(), () -> 0.5);
+
+        // When / Then
+        assertEquals(Duration.ofMillis(50), budget.backoff(0));
+        assertEquals(Duration.ofMillis(200), budget.backoff(2));
+        assertEquals(Duration.ofMillis(500), budget.backoff(10));
+        assertEquals(Duration.ofMillis(500), budget.backoff(100));
+    }
+}
@@ -0,0 +1,110 @@
+package domus.challenge.repository;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.exceptions.ExternalCircuitOpenException;
+import domus.challenge.exceptions.ExternalClientException;
+import domus.challenge.exceptions.ExternalServerException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UpstreamCircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger calls = new AtomicInteger();
+    private UpstreamCircuitBreaker breaker;
+
+    @BeforeEach
+    void setup() {
+        MovieApiConfig config = new MovieApiConfig();
+        config.setCircuitFailureThreshold(3);
+        config.setCircuitOpenDuration(Duration.ofSeconds(10));
+        config.setCircuitHalfOpenProbes(1);
+        breaker = new UpstreamCircuitBreaker(config, new SimpleMeterRegistry(), clock::get);
+    }
+
+    @Test
+    @DisplayName("Should open after consecutive failures and reject without calling upstream")
+    void givenConsecutiveFailures_whenProtect_thenOpenAndFailFast() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(breaker.protect(this::failing))
+                    .expectError(ExternalServerException.class)
+                    .verify();
+        }
+
+        // When / Then
+        StepVerifier.create(breaker.protect(this::failing))
+                .expectError(ExternalCircuitOpenException.class)
+                .verify();
+        assertEquals(3, calls.get());
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should close again after a successful half-open probe")
+    void givenOpenCircuit_whenProbeSucceeds_thenClose() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(breaker.protect(this::failing)).expectError().verify();
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        StepVerifier.create(breaker.protect(() -> Mono.just("ok")))
+                .expectNext("ok")
+                .verifyComplete();
+
+        // Then
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should reopen when the half-open probe fails")
+    void givenOpenCircuit_whenProbeFails_thenReopen() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(breaker.protect(this::failing)).expectError().verify();
+        }
+        clock.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        // When
+        StepVerifier.create(breaker.protect(this::failing))
+                .expectError(ExternalServerException.class)
+                .verify();
+
+        // Then
+        assertEquals(UpstreamCircuitBreaker.State.OPEN, breaker.getState());
+        StepVerifier.create(breaker.protect(this::failing))
+                .expectError(ExternalCircuitOpenException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should not count plain 4xx responses as upstream failures")
+    void givenClientErrors_whenProtect_thenStayClosed() {
+        // Given / When
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(breaker.protect(() -> Mono.error(new ExternalClientException("bad request"))))
+                    .expectError(ExternalClientException.class)
+                    .verify();
+        }
+
+        // Then
+        assertEquals(UpstreamCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    private Mono<String> failing() {
+        calls.incrementAndGet();
+        return Mono.error(new ExternalServerException("boom"));
+    }
+}
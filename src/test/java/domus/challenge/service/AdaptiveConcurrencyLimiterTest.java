@@ -0,0 +1,133 @@
+package domus.challenge.service;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.exceptions.ExternalTooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private MovieApiConfig config;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setup() {
+        config = new MovieApiConfig();
+        config.setCrawlConcurrencyMin(2);
+        config.setCrawlConcurrencyMax(8);
+        config.setCrawlLatencyTarget(Duration.ofSeconds(1));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Should grow the limit up to the ceiling while pages succeed fast")
+    void givenFastSuccesses_whenRun_thenLimitGrowsToCeiling() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+
+        // When
+        Flux<Integer> calls = Flux.range(0, 100)
+                .flatMap(i -> limiter.run(() -> Mono.just(i).delayElement(Duration.ofMillis(5))), 64);
+
+        // Then
+        StepVerifier.create(calls)
+                .expectNextCount(100)
+                .verifyComplete();
+
+        assertEquals(8, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(8, meterRegistry.get("directors.crawl.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should halve the limit on throttling without going below the floor")
+    void givenThrottling_whenRun_thenLimitBacksOffToFloor() {
+        // Given
+        config.setCrawlConcurrencyMin(1);
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+        StepVerifier.create(Flux.range(0, 50)
+                        .flatMap(i -> limiter.run(() -> Mono.just(i).delayElement(Duration.ofMillis(2))), 64))
+                .expectNextCount(50)
+                .verifyComplete();
+        int grown = limiter.getLimit();
+
+        // When
+        StepVerifier.create(limiter.run(() -> Mono.error(new ExternalTooManyRequestsException("429"))))
+                .expectError(ExternalTooManyRequestsException.class)
+                .verify();
+
+        // Then
+        assertTrue(limiter.getLimit() <= Math.max(1, grown / 2));
+        for (int i = 0; i < 10; i++) {
+            StepVerifier.create(limiter.run(() -> Mono.error(new ExternalTooManyRequestsException("429"))))
+                    .expectError()
+                    .verify();
+        }
+        assertEquals(1, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should halve the limit when a Netty read timeout arrives wrapped by WebClient")
+    void givenWrappedReadTimeout_whenRun_thenLimitBacksOff() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+        StepVerifier.create(Flux.range(0, 50)
+                        .flatMap(i -> limiter.run(() -> Mono.just(i).delayElement(Duration.ofMillis(2))), 64))
+                .expectNextCount(50)
+                .verifyComplete();
+        int grown = limiter.getLimit();
+        WebClientRequestException timeout = new WebClientRequestException(ReadTimeoutException.INSTANCE,
+                HttpMethod.GET, URI.create("http://upstream/api/movies/search?page=2"), new HttpHeaders());
+
+        // When
+        StepVerifier.create(limiter.run(() -> Mono.error(timeout)))
+                .expectError(WebClientRequestException.class)
+                .verify();
+
+        // Then
+        assertTrue(grown > 2);
+        assertEquals(Math.max(2, grown / 2), limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("Should never run more calls at once than the current limit")
+    void givenManyCalls_whenRun_thenInFlightNeverExceedsLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(config, meterRegistry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        // When
+        Flux<Integer> calls = Flux.range(0, 60)
+                .flatMap(i -> limiter.run(() -> Mono.fromCallable(() -> {
+                            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                            return i;
+                        })
+                        .delayElement(Duration.ofMillis(5))
+                        .doOnTerminate(running::decrementAndGet)), 64);
+
+        // Then
+        StepVerifier.create(calls)
+                .expectNextCount(60)
+                .verifyComplete();
+
+        assertTrue(maxRunning.get() <= 8);
+        assertEquals(0, limiter.getInFlight());
+    }
+}
@@ -1,20 +1,45 @@
 package domus.challenge.service;
 
+import domus.challenge.config.MovieApiConfig;
 import domus.challenge.domain.DirectorCounter;
 import domus.challenge.domain.DirectorCounterState;
+import domus.challenge.domain.DirectorSnapshot;
 import domus.challenge.domain.Movie;
+import domus.challenge.domain.MovieDimension;
+import domus.challenge.domain.MovieFilter;
+import domus.challenge.domain.MovieRating;
+import domus.challenge.dto.DirectorStreamEventDto;
+import domus.challenge.dto.DirectorsBatchResponseDto;
 import domus.challenge.dto.DirectorsResponseDto;
+import domus.challenge.dto.GroupResponseDto;
 import domus.challenge.dto.MoviePageResponseDto;
+import domus.challenge.dto.ThresholdDirectorsDto;
+import domus.challenge.exceptions.DimensionNotCountedException;
+import domus.challenge.exceptions.DirectorNotFoundException;
+import domus.challenge.exceptions.ExternalCircuitOpenException;
+import domus.challenge.exceptions.ExternalServerException;
+import domus.challenge.exceptions.MovieFilterUnavailableException;
 import domus.challenge.mappers.DirectorMapper;
+import domus.challenge.metrics.CrawlMetrics;
 import domus.challenge.repository.MovieRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.Mockito.*;
 
 class DirectorServiceImplTest {
@@ -22,6 +47,8 @@ class DirectorServiceImplTest {
     private MovieRepository movieRepository;
     private DirectorMapper mapper;
     private DirectorCounter directorCounter;
+    private MovieApiConfig config;
+    private SimpleMeterRegistry meterRegistry;
 
     private DirectorServiceImpl service;
 
@@ -30,8 +57,11 @@ class DirectorServiceImplTest {
         movieRepository = mock(MovieRepository.class);
         mapper = new DirectorMapper() {}; // implementación default
         directorCounter = mock(DirectorCounter.class);
+        config = new MovieApiConfig();
+        meterRegistry = new SimpleMeterRegistry();
 
-        service = new DirectorServiceImpl(movieRepository, mapper, directorCounter);
+        service = new DirectorServiceImpl(movieRepository, mapper, directorCounter, config,
+                new CrawlMetrics(meterRegistry), new AdaptiveConcurrencyLimiter(config, meterRegistry));
     }
 
     @Test
@@ -188,4 +218,602 @@ class DirectorServiceImplTest {
         verifyNoMoreInteractions(directorCounter);
     }
 
+    @Test
+    @DisplayName("Should answer from the cached snapshot without calling the repository again")
+    void givenSnapshotEnabled_whenFindDirectorsTwice_thenCrawlOnlyOnce() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        when(directorCounter.createState()).thenReturn(new DirectorCounterState());
+
+        MoviePageResponseDto page1 = MoviePageResponseDto.builder()
+                .page(1)
+                .total_pages(1)
+                .movieList(List.of(
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("Tarantino").build()))
+                .build();
+
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page1));
+
+        // When
+        StepVerifier.create(service.findDirectorsAboveThreshold(0))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("James Cameron", "Tarantino")))
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(service.findDirectorsAboveThreshold(1))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("James Cameron")) &&
+                        res.getGeneratedAt() != null)
+                .verifyComplete();
+
+        verify(movieRepository, times(1)).getMovies(1);
+        verifyNoMoreInteractions(movieRepository);
+        verify(directorCounter, times(1)).createState();
+    }
+
+    @Test
+    @DisplayName("Should swap in a new snapshot on refresh")
+    void givenRefresh_whenFindDirectors_thenAnswerFromNewSnapshot() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+
+        MoviePageResponseDto before = MoviePageResponseDto.builder()
+                .page(1)
+                .total_pages(1)
+                .movieList(List.of(Movie.builder().director("A").build()))
+                .build();
+        MoviePageResponseDto after = MoviePageResponseDto.builder()
+                .page(1)
+                .total_pages(1)
+                .movieList(List.of(Movie.builder().director("B").build()))
+                .build();
+
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(before), Mono.just(after));
+
+        // When
+        StepVerifier.create(service.refreshSnapshot())
+                .expectNextMatches(snapshot -> snapshot.getCounts().containsKey("A"))
+                .verifyComplete();
+        StepVerifier.create(service.refreshSnapshot())
+                .expectNextMatches(snapshot -> snapshot.getCounts().containsKey("B"))
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(service.findDirectorsAboveThreshold(0))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("B")))
+                .verifyComplete();
+
+        verify(movieRepository, times(2)).getMovies(1);
+    }
+
+    @Test
+    @DisplayName("Should start a new crawl for each sequential refresh instead of joining the finished one")
+    void givenSequentialRefreshes_whenRefreshSnapshot_thenFetchEachTime() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenAnswer(inv -> Mono.just(page(1, 2, 1, "A", "B")));
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(service.refreshSnapshot())
+                    .expectNextCount(1)
+                    .verifyComplete();
+        }
+
+        // Then
+        verify(movieRepository, times(5)).getMovies(1);
+    }
+
+    @Test
+    @DisplayName("Should coalesce a burst of concurrent requests into a single crawl")
+    void givenConcurrentBurst_whenFindDirectors_thenFetchEachPageOnce() {
+        // Given
+        int burst = 50;
+        int totalPages = 3;
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+
+        for (int page = 1; page <= totalPages; page++) {
+            MoviePageResponseDto dto = MoviePageResponseDto.builder()
+                    .page(page)
+                    .total_pages(totalPages)
+                    .movieList(List.of(
+                            Movie.builder().director("Dir" + page).build(),
+                            Movie.builder().director("Dir1").build()))
+                    .build();
+            when(movieRepository.getMovies(page))
+                    .thenReturn(Mono.just(dto).delayElement(Duration.ofMillis(100)));
+        }
+
+        // When
+        Mono<List<DirectorsResponseDto>> result = Flux.range(0, burst)
+                .flatMap(i -> service.findDirectorsAboveThreshold(i % 2), burst)
+                .collectList();
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(responses -> responses.size() == burst &&
+                        responses.stream().allMatch(res -> res.getDirectors().contains("Dir1")))
+                .verifyComplete();
+
+        for (int page = 1; page <= totalPages; page++) {
+            verify(movieRepository, times(1)).getMovies(page);
+        }
+        verifyNoMoreInteractions(movieRepository);
+        verify(directorCounter, times(1)).createState();
+
+        assertEquals(1, meterRegistry.get("directors.crawl.started").counter().count());
+        assertEquals(burst - 1, meterRegistry.get("directors.crawl.joined").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should stream each director as soon as it crosses the threshold, then a completion event")
+    void givenSlowSecondPage_whenStreamDirectors_thenEmitCrossingsBeforeCrawlEnds() {
+        // Given
+        when(directorCounter.createState()).thenReturn(new DirectorCounterState());
+
+        MoviePageResponseDto page1 = MoviePageResponseDto.builder()
+                .page(1)
+                .total_pages(2)
+                .movieList(List.of(
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("Tarantino").build()))
+                .build();
+        MoviePageResponseDto page2 = MoviePageResponseDto.builder()
+                .page(2)
+                .total_pages(2)
+                .movieList(List.of(
+                        Movie.builder().director("Tarantino").build(),
+                        Movie.builder().director("James Cameron").build()))
+                .build();
+
+        Sinks.One<MoviePageResponseDto> secondPage = Sinks.one();
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page1));
+        when(movieRepository.getMovies(2)).thenReturn(secondPage.asMono());
+
+        // When
+        Flux<DirectorStreamEventDto> result = service.streamDirectorsAboveThreshold(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNext(DirectorStreamEventDto.director("James Cameron", 2))
+                .then(() -> secondPage.tryEmitValue(page2))
+                .expectNext(DirectorStreamEventDto.director("Tarantino", 2))
+                .expectNextMatches(event -> DirectorStreamEventDto.COMPLETE.equals(event.getType()) &&
+                        event.getDirectorsFound() == 2 &&
+                        event.getPagesFetched() == 2 &&
+                        !event.getFromSnapshot())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should publish a streamed crawl with group counts and the same version as a regular crawl")
+    void givenStreamedCrawl_whenFindGenres_thenAnswerFromStreamedSnapshot() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        config.setGroupDimensions(List.of(MovieDimension.GENRE));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenAnswer(inv -> Mono.just(MoviePageResponseDto.builder()
+                .page(1).per_page(2).total(2).total_pages(1)
+                .movieList(List.of(
+                        Movie.builder().title("M1").director("A").genre("Drama").build(),
+                        Movie.builder().title("M2").director("A").genre("Drama, Crime").build()))
+                .build()));
+
+        // When
+        StepVerifier.create(service.streamDirectorsAboveThreshold(1))
+                .expectNext(DirectorStreamEventDto.director("A", 2))
+                .expectNextMatches(event -> DirectorStreamEventDto.COMPLETE.equals(event.getType()))
+                .verifyComplete();
+        Long streamed = service.currentSnapshotVersion();
+
+        // Then
+        StepVerifier.create(service.findAboveThreshold(MovieDimension.GENRE, 1))
+                .expectNextMatches(res -> res.getValues().equals(List.of("Drama")))
+                .verifyComplete();
+        verify(movieRepository, times(1)).getMovies(1);
+        assertEquals(streamed, service.refreshSnapshot().block().getVersion());
+    }
+
+    @Test
+    @DisplayName("Should not publish streamed counts when a page was dropped")
+    void givenDroppedPage_whenStreamDirectors_thenKeepCountsPrivate() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page(1, 4, 2, "A", "A")));
+        when(movieRepository.getMovies(2)).thenReturn(Mono.error(new RuntimeException("boom")));
+
+        // When
+        StepVerifier.create(service.streamDirectorsAboveThreshold(1))
+                .expectNext(DirectorStreamEventDto.director("A", 2))
+                .expectNextMatches(event -> DirectorStreamEventDto.COMPLETE.equals(event.getType())
+                        && event.getPagesFetched() == 1)
+                .verifyComplete();
+
+        // Then
+        assertNull(service.currentSnapshotVersion());
+    }
+
+    @Test
+    @DisplayName("Should answer several thresholds from a single crawl")
+    void givenSeveralThresholds_whenFindDirectorsBatch_thenCrawlOnce() {
+        // Given
+        when(directorCounter.createState()).thenReturn(new DirectorCounterState());
+
+        MoviePageResponseDto page1 = MoviePageResponseDto.builder()
+                .page(1)
+                .total_pages(1)
+                .movieList(List.of(
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("James Cameron").build(),
+                        Movie.builder().director("Tarantino").build(),
+                        Movie.builder().director("Tarantino").build(),
+                        Movie.builder().director("Nolan").build()))
+                .build();
+
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page1));
+
+        // When
+        Mono<DirectorsBatchResponseDto> result = service.findDirectorsAboveThresholds(List.of(2, 0, 1, 2, 5));
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(res -> res.getResults().equals(List.of(
+                        new ThresholdDirectorsDto(2, List.of("James Cameron")),
+                        new ThresholdDirectorsDto(0, List.of("James Cameron", "Nolan", "Tarantino")),
+                        new ThresholdDirectorsDto(1, List.of("James Cameron", "Tarantino")),
+                        new ThresholdDirectorsDto(5, List.of()))))
+                .verifyComplete();
+
+        verify(movieRepository, times(1)).getMovies(1);
+        verifyNoMoreInteractions(movieRepository);
+        verify(directorCounter, times(1)).createState();
+    }
+
+    @Test
+    @DisplayName("Should answer from a restored snapshot without crawling")
+    void givenRestoredSnapshot_whenFindDirectors_thenSkipCrawl() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        DirectorCounterState state = new DirectorCounterState();
+        state.add(Movie.builder().director("James Cameron").build());
+        state.add(Movie.builder().director("James Cameron").build());
+        service.restoreSnapshot(DirectorSnapshot.from(state, Instant.now().minusSeconds(60), 2, 1));
+
+        // When
+        Mono<DirectorsResponseDto> result = service.findDirectorsAboveThreshold(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("James Cameron")))
+                .verifyComplete();
+
+        verifyNoInteractions(movieRepository);
+        verifyNoInteractions(directorCounter);
+    }
+
+    @Test
+    @DisplayName("Should only re-fetch the tail and new pages on an incremental refresh")
+    void givenCatalogGrowth_whenRefreshIncrementally_thenFetchOnlyTailPages() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        config.setIncrementalRefresh(true);
+        config.setIncrementalVerifyPages(0);
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+
+        MoviePageResponseDto page1 = page(1, 5, 3, "A", "A");
+        MoviePageResponseDto page2 = page(2, 5, 3, "B", "B");
+        MoviePageResponseDto page3 = page(3, 5, 3, "C");
+        MoviePageResponseDto page1Grown = page(1, 7, 4, "A", "A");
+        MoviePageResponseDto page3Filled = page(3, 7, 4, "C", "A");
+        MoviePageResponseDto page4 = page(4, 7, 4, "D");
+
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page1), Mono.just(page1Grown));
+        when(movieRepository.getMovies(2)).thenReturn(Mono.just(page2));
+        when(movieRepository.getMovies(3)).thenReturn(Mono.just(page3), Mono.just(page3Filled));
+        when(movieRepository.getMovies(4)).thenReturn(Mono.just(page4));
+
+        StepVerifier.create(service.refreshSnapshot())
+                .expectNextMatches(snapshot -> snapshot.getCounts().equals(Map.of("A", 2, "B", 2, "C", 1)))
+                .verifyComplete();
+
+        // When
+        Mono<DirectorSnapshot> result = service.refreshSnapshot();
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(snapshot -> snapshot.getCounts().equals(Map.of("A", 3, "B", 2, "C", 1, "D", 1)) &&
+                        snapshot.getTotalMovies() == 7 &&
+                        snapshot.getTotalPages() == 4)
+                .verifyComplete();
+
+        verify(movieRepository, times(2)).getMovies(1);
+        verify(movieRepository, times(1)).getMovies(2);
+        verify(movieRepository, times(2)).getMovies(3);
+        verify(movieRepository, times(1)).getMovies(4);
+        verify(directorCounter, times(1)).createState();
+        assertEquals(1, meterRegistry.get("directors.crawl.mode").tag("mode", "incremental").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fall back to a full crawl when a page before the tail changed")
+    void givenShiftedCatalog_whenRefreshIncrementally_thenRunFullCrawl() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        config.setIncrementalRefresh(true);
+        config.setIncrementalVerifyPages(0);
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+
+        when(movieRepository.getMovies(1)).thenReturn(
+                Mono.just(page(1, 3, 2, "A", "A")),
+                Mono.just(page(1, 4, 2, "Z", "A")),
+                Mono.just(page(1, 4, 2, "Z", "A")));
+        when(movieRepository.getMovies(2)).thenReturn(
+                Mono.just(page(2, 3, 2, "B")),
+                Mono.just(page(2, 4, 2, "A", "B")));
+
+        StepVerifier.create(service.refreshSnapshot())
+                .expectNextMatches(snapshot -> snapshot.getCounts().equals(Map.of("A", 2, "B", 1)))
+                .verifyComplete();
+
+        // When
+        Mono<DirectorSnapshot> result = service.refreshSnapshot();
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(snapshot -> snapshot.getCounts().equals(Map.of("Z", 1, "A", 2, "B", 1)))
+                .verifyComplete();
+
+        verify(movieRepository, times(3)).getMovies(1);
+        verify(movieRepository, times(3)).getMovies(2);
+        verify(directorCounter, times(2)).createState();
+        assertEquals(2, meterRegistry.get("directors.crawl.mode").tag("mode", "full").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should serve the last good snapshot, flagged stale, when the circuit is open")
+    void givenOpenCircuit_whenFindDirectors_thenServeStaleSnapshot() {
+        // Given
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(
+                Mono.just(page(1, 2, 1, "A", "A")),
+                Mono.error(new ExternalCircuitOpenException("Movie API circuit is open")));
+
+        StepVerifier.create(service.findDirectorsAboveThreshold(1))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("A")) && !res.isStale())
+                .verifyComplete();
+
+        // When
+        Mono<DirectorsResponseDto> result = service.findDirectorsAboveThreshold(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("A")) && res.isStale())
+                .verifyComplete();
+        assertEquals(1, meterRegistry.get("directors.response.stale").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should fail the crawl instead of dropping pages while the circuit is open")
+    void givenCircuitOpensMidCrawl_whenFindDirectors_thenPropagateUnavailable() {
+        // Given
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page(1, 4, 2, "A", "A")));
+        when(movieRepository.getMovies(2)).thenReturn(Mono.error(new ExternalCircuitOpenException("Movie API circuit is open")));
+
+        // When
+        Mono<DirectorsResponseDto> result = service.findDirectorsAboveThreshold(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(ExternalCircuitOpenException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should keep expected upstream errors as they are and wrap unexpected ones instead of answering empty")
+    void givenFirstPageFails_whenFindDirectors_thenErrorFollowsContract() {
+        // Given
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1))
+                .thenReturn(Mono.error(new ExternalServerException("Server error calling Movie API")))
+                .thenReturn(Mono.error(new IllegalStateException("boom")));
+
+        // When / Then
+        StepVerifier.create(service.findDirectorsAboveThreshold(1))
+                .expectError(ExternalServerException.class)
+                .verify();
+        StepVerifier.create(service.findDirectorsAboveThreshold(1))
+                .expectErrorMatches(e -> e.getClass() == RuntimeException.class
+                        && e.getCause() instanceof IllegalStateException)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should answer with partial counts when the crawl deadline passes, without publishing them")
+    void givenSlowPage_whenCrawlDeadlinePasses_thenAnswerPartialAndKeepNoSnapshot() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        config.setCrawlDeadline(Duration.ofMillis(200));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(page(1, 6, 3, "A", "A")));
+        when(movieRepository.getMovies(2)).thenReturn(Mono.just(page(2, 6, 3, "A", "B")));
+        when(movieRepository.getMovies(3)).thenReturn(Mono.never());
+
+        // When
+        Mono<DirectorsResponseDto> result = service.findDirectorsAboveThreshold(1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("A"))
+                        && res.getPagesFetched() == 2
+                        && res.getPagesTotal() == 3
+                        && !res.getComplete())
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+        assertEquals(1, meterRegistry.get("directors.crawl.truncated").counter().count());
+
+        StepVerifier.create(service.findDirectorsAboveThreshold(1))
+                .expectNextCount(1)
+                .expectComplete()
+                .verify(Duration.ofSeconds(2));
+        verify(movieRepository, times(2)).getMovies(1);
+    }
+
+    @Test
+    @DisplayName("Should answer writers and genres from the crawl that counted directors")
+    void givenGroupDimensions_whenFindWritersAndGenres_thenCrawlOnce() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        config.setGroupDimensions(List.of(MovieDimension.WRITER, MovieDimension.GENRE));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(MoviePageResponseDto.builder()
+                .page(1).per_page(3).total(3).total_pages(1)
+                .movieList(List.of(
+                        Movie.builder().title("M1").director("A").writer("W1 (screenplay), W2").genre("Drama, Crime").build(),
+                        Movie.builder().title("M2").director("A").writer("W1").genre("Drama").build(),
+                        Movie.builder().title("M3").director("B").writer("W2").genre("Comedy").build()))
+                .build()));
+
+        // When / Then
+        StepVerifier.create(service.findAboveThreshold(MovieDimension.WRITER, 1))
+                .expectNextMatches(res -> res.getGroup().equals("writers")
+                        && res.getValues().equals(List.of("W1", "W2"))
+                        && res.getComplete())
+                .verifyComplete();
+        StepVerifier.create(service.findAboveThreshold(MovieDimension.GENRE, 1))
+                .expectNextMatches(res -> res.getValues().equals(List.of("Drama")))
+                .verifyComplete();
+        StepVerifier.create(service.findDirectorsAboveThreshold(1))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("A")))
+                .verifyComplete();
+        verify(movieRepository, times(1)).getMovies(1);
+    }
+
+    @Test
+    @DisplayName("Should reject a dimension that is not counted")
+    void givenDimensionNotConfigured_whenFindAboveThreshold_thenError() {
+        // Given
+        config.setGroupDimensions(List.of(MovieDimension.WRITER));
+
+        // When
+        Mono<GroupResponseDto> result = service.findAboveThreshold(MovieDimension.ACTOR, 1);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(DimensionNotCountedException.class)
+                .verify();
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should count only the movies matching the filters, from the snapshot's movie store")
+    void givenMovieStore_whenFindDirectorsWithFilter_thenCountMatchingMovies() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        config.setMovieStore(true);
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(MoviePageResponseDto.builder()
+                .page(1).per_page(5).total(5).total_pages(1)
+                .movieList(List.of(
+                        Movie.builder().title("M1").director("A").genre("Drama, Crime").year("2004").rated(MovieRating.R).build(),
+                        Movie.builder().title("M2").director("A").genre("Drama").year("2010").rated(MovieRating.R).build(),
+                        Movie.builder().title("M3").director("A").genre("Drama").year("1995").rated(MovieRating.R).build(),
+                        Movie.builder().title("M4").director("B").genre("Drama").year("2012").rated(MovieRating.PG).build(),
+                        Movie.builder().title("M5").director("B").genre("Comedy").year("2012").rated(MovieRating.R).build()))
+                .build()));
+        MovieFilter filter = MovieFilter.builder().genre("drama").rated(MovieRating.R).yearFrom(2000).build();
+
+        // When / Then
+        StepVerifier.create(service.findDirectorsAboveThreshold(1, filter))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("A")) && res.getComplete())
+                .verifyComplete();
+        StepVerifier.create(service.findDirectorsAboveThreshold(0, MovieFilter.builder().yearTo(2011).build()))
+                .expectNextMatches(res -> res.getDirectors().equals(List.of("A")))
+                .verifyComplete();
+        verify(movieRepository, times(1)).getMovies(1);
+    }
+
+    @Test
+    @DisplayName("Should reject filters when the movie store is disabled")
+    void givenMovieStoreDisabled_whenFindDirectorsWithFilter_thenError() {
+        // Given
+        config.setMovieStore(false);
+
+        // When
+        Mono<DirectorsResponseDto> result = service.findDirectorsAboveThreshold(1,
+                MovieFilter.builder().genre("Drama").build());
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(MovieFilterUnavailableException.class)
+                .verify();
+        verifyNoInteractions(movieRepository);
+    }
+
+    @Test
+    @DisplayName("Should look a director up and search by prefix from one snapshot")
+    void givenSnapshot_whenFindDirectorAndSearch_thenAnswerWithCounts() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(Mono.just(
+                page(1, 4, 1, "Christopher Nolan", "Christopher Nolan", "Chris Columbus", "Clint Eastwood")));
+
+        // When / Then
+        StepVerifier.create(service.findDirector("christopher nolan"))
+                .expectNextMatches(res -> res.getDirector().equals("Christopher Nolan") && res.getMovies() == 2)
+                .verifyComplete();
+        StepVerifier.create(service.searchDirectors("chris", 1))
+                .expectNextMatches(res -> res.getDirectors().size() == 1
+                        && res.getDirectors().get(0).getDirector().equals("Chris Columbus")
+                        && res.getDirectors().get(0).getMovies() == 1)
+                .verifyComplete();
+        StepVerifier.create(service.findDirector("Steven Spielberg"))
+                .expectError(DirectorNotFoundException.class)
+                .verify();
+        verify(movieRepository, times(1)).getMovies(1);
+    }
+
+    @Test
+    @DisplayName("Should keep the snapshot version while the content is unchanged and change it with the content")
+    void givenRefreshes_whenContentRepeatsOrChanges_thenVersionFollowsContent() {
+        // Given
+        config.setSnapshotTtl(Duration.ofMinutes(5));
+        when(directorCounter.createState()).thenAnswer(inv -> new DirectorCounterState());
+        when(movieRepository.getMovies(1)).thenReturn(
+                Mono.just(page(1, 2, 1, "A", "B")),
+                Mono.just(page(1, 2, 1, "A", "B")),
+                Mono.just(page(1, 2, 1, "A", "C")));
+
+        // When
+        long first = service.refreshSnapshot().block().getVersion();
+        Long current = service.currentSnapshotVersion();
+        long repeated = service.refreshSnapshot().block().getVersion();
+        long changed = service.refreshSnapshot().block().getVersion();
+
+        // Then
+        assertEquals(first, current);
+        assertEquals(first, repeated);
+        assertNotEquals(first, changed);
+        assertEquals(changed, service.currentSnapshotVersion());
+    }
+
+    private static MoviePageResponseDto page(int page, int total, int totalPages, String... directors) {
+        return MoviePageResponseDto.builder()
+                .page(page)
+                .per_page(2)
+                .total(total)
+                .total_pages(totalPages)
+                .movieList(java.util.Arrays.stream(directors)
+                        .map(director -> Movie.builder().title(director + page).director(director).build())
+                        .toList())
+                .build();
+    }
+
 }
@@ -0,0 +1,149 @@
+package domus.challenge.simulator;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop load generator for {@code /api/directors}: {@code --concurrency} virtual threads
+ * send requests back to back for {@code --duration-s} seconds after a warm-up, then the
+ * generator prints throughput, status codes and p50 / p99 / p999 latency.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=domus.challenge.simulator.DirectorsLoadGenerator \
+ *     -Dexec.args="--url http://localhost:8080/api/directors?threshold=4 --concurrency 64 --duration-s 30"
+ * </pre>
+ */
+public class DirectorsLoadGenerator {
+
+    private final URI target;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final HttpClient client;
+
+    public DirectorsLoadGenerator(URI target, int concurrency, Duration warmup, Duration duration) {
+        this.target = target;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        CliOptions options = new CliOptions(args);
+
+        DirectorsLoadGenerator generator = new DirectorsLoadGenerator(
+                URI.create(options.string("url", "http://localhost:8080/api/directors?threshold=4")),
+                options.integer("concurrency", 32),
+                Duration.ofSeconds(options.integer("warmup-s", 5)),
+                Duration.ofSeconds(options.integer("duration-s", 30)));
+
+        System.out.println(generator.run());
+    }
+
+    public Report run() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(target)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+
+        List<Future<Worker>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(() -> new Worker().loop(request, measureFrom, stopAt)));
+            }
+        }
+
+        Report report = new Report(duration);
+        for (Future<Worker> future : futures) {
+            report.add(future.get());
+        }
+        return report;
+    }
+
+    private final class Worker {
+        private long[] latencies = new long[1024];
+        private int count;
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        private Worker loop(HttpRequest request, long measureFrom, long stopAt) {
+            long now;
+            while ((now = System.nanoTime()) < stopAt) {
+                String status;
+                try {
+                    status = Integer.toString(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (Exception e) {
+                    status = e.getClass().getSimpleName();
+                }
+                long latency = System.nanoTime() - now;
+
+                if (now >= measureFrom) {
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = latency;
+                    statuses.merge(status, 1, Integer::sum);
+                }
+            }
+            return this;
+        }
+    }
+
+    public static final class Report {
+        private final Duration duration;
+        private long[] latencies = new long[0];
+        private final Map<String, Integer> statuses = new TreeMap<>();
+
+        private Report(Duration duration) {
+            this.duration = duration;
+        }
+
+        private void add(Worker worker) {
+            int offset = latencies.length;
+            latencies = Arrays.copyOf(latencies, offset + worker.count);
+            System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+            worker.statuses.forEach((status, n) -> statuses.merge(status, n, Integer::sum));
+        }
+
+        public double throughput() {
+            return latencies.length / (double) duration.toSeconds();
+        }
+
+        public double percentileMillis(double percentile) {
+            if (latencies.length == 0) return Double.NaN;
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank))] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "requests=%d throughput=%.1f req/s p50=%.2f ms p99=%.2f ms p999=%.2f ms max=%.2f ms statuses=%s",
+                    latencies.length, throughput(),
+                    percentileMillis(50), percentileMillis(99), percentileMillis(99.9), percentileMillis(100),
+                    statuses);
+        }
+    }
+}
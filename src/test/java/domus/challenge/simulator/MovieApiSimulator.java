@@ -0,0 +1,196 @@
+package domus.challenge.simulator;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the upstream Movie API ({@code GET /search?page=N}).
+ * <p>
+ * Serves a synthetic catalog of configurable size and director skew, and injects log-normal
+ * latency, 503s, 429s and premature connection closes at configurable rates. Point the
+ * application at it with {@code --movie.api.base-url=http://localhost:<port>}.
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=domus.challenge.simulator.MovieApiSimulator \
+ *     -Dexec.args="--port 8089 --pages 200 --per-page 10 --latency-median-ms 40 --latency-p99-ms 400 --error-rate 0.01"
+ * </pre>
+ */
+public class MovieApiSimulator {
+
+    private final SyntheticCatalog catalog;
+    private final Duration latencyMedian;
+    private final double latencySigma;
+    private final double errorRate;
+    private final double throttleRate;
+    private final double closeRate;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong faults = new AtomicLong();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public MovieApiSimulator(int pages, int perPage, int directors, double skew,
+                             Duration latencyMedian, Duration latencyP99,
+                             double errorRate, double throttleRate, double closeRate) {
+        this.catalog = new SyntheticCatalog(pages, perPage, directors, skew, 42L);
+        this.latencyMedian = latencyMedian;
+        // log-normal: p99 sits 2.326 standard deviations above the median in log space
+        this.latencySigma = latencyMedian.isZero() || latencyP99.compareTo(latencyMedian) <= 0
+                ? 0
+                : Math.log((double) latencyP99.toNanos() / latencyMedian.toNanos()) / 2.326;
+        this.errorRate = errorRate;
+        this.throttleRate = throttleRate;
+        this.closeRate = closeRate;
+    }
+
+    public static void main(String[] args) throws IOException {
+        CliOptions options = new CliOptions(args);
+
+        MovieApiSimulator simulator = new MovieApiSimulator(
+                options.integer("pages", 100),
+                options.integer("per-page", 10),
+                options.integer("directors", 500),
+                options.decimal("skew", 1.1),
+                options.millis("latency-median-ms", 30),
+                options.millis("latency-p99-ms", 300),
+                options.decimal("error-rate", 0),
+                options.decimal("throttle-rate", 0),
+                options.decimal("close-rate", 0));
+
+        int port = simulator.start(options.integer("port", 8089));
+        Runtime.getRuntime().addShutdownHook(new Thread(simulator::stop));
+
+        System.out.printf("Movie API simulator on http://localhost:%d/search?page=1 (%d movies, %d pages)%n",
+                port, simulator.catalog.total(), simulator.catalog.pages());
+    }
+
+    public int start(int port) throws IOException {
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 512);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            System.out.printf("Simulator served %d requests (%d faults injected)%n", requests.get(), faults.get());
+        }
+    }
+
+    public long requestCount() {
+        return requests.get();
+    }
+
+    public int totalPages() {
+        return catalog.pages();
+    }
+
+    public String directorOf(int movie) {
+        return catalog.directorOf(movie);
+    }
+
+    public int totalMovies() {
+        return catalog.total();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            URI uri = exchange.getRequestURI();
+            if (uri.getPath().endsWith("/stats")) {
+                send(exchange, 200, ("{\"requests\":" + requests.get() + ",\"faults\":" + faults.get() + "}")
+                        .getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (!uri.getPath().endsWith("/search")) {
+                send(exchange, 404, "{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            requests.incrementAndGet();
+            sleepLatency();
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            if (roll < errorRate) {
+                faults.incrementAndGet();
+                send(exchange, 503, "{\"error\":\"simulated outage\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (roll < errorRate + throttleRate) {
+                faults.incrementAndGet();
+                send(exchange, 429, "{\"error\":\"simulated throttling\"}".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+
+            byte[] body = catalog.page(pageOf(uri));
+            if (roll < errorRate + throttleRate + closeRate) {
+                faults.incrementAndGet();
+                prematureClose(exchange, body);
+                return;
+            }
+            send(exchange, 200, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleepLatency() {
+        if (latencyMedian.isZero()) return;
+        double factor = Math.exp(latencySigma * ThreadLocalRandom.current().nextGaussian());
+        try {
+            Thread.sleep(Duration.ofNanos((long) (latencyMedian.toNanos() * factor)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int pageOf(URI uri) {
+        String query = uri.getRawQuery();
+        if (query != null) {
+            for (String param : query.split("&")) {
+                if (param.startsWith("page=")) {
+                    try {
+                        return Integer.parseInt(param.substring(5));
+                    } catch (NumberFormatException e) {
+                        return 1;
+                    }
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    // Announces the full body but drops the connection halfway through it
+    private static void prematureClose(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(body, 0, body.length / 2);
+        out.flush();
+        // An exception escaping the handler makes the JDK server drop the connection mid-body
+        throw new IOException("Simulated premature close");
+    }
+}
@@ -0,0 +1,80 @@
+package domus.challenge.simulator;
+
+import domus.challenge.config.MovieApiConfig;
+import domus.challenge.domain.DirectorCounter;
+import domus.challenge.mappers.DirectorMapper;
+import domus.challenge.metrics.CrawlMetrics;
+import domus.challenge.repository.HedgePolicy;
+import domus.challenge.repository.MovieRepositoryImpl;
+import domus.challenge.repository.RetryBudget;
+import domus.challenge.service.AdaptiveConcurrencyLimiter;
+import domus.challenge.service.DirectorServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MovieApiSimulatorTest {
+
+    private MovieApiSimulator simulator;
+    private DirectorServiceImpl service;
+
+    @BeforeEach
+    void setup() throws IOException {
+        simulator = new MovieApiSimulator(12, 10, 30, 1.2,
+                Duration.ofMillis(2), Duration.ofMillis(20), 0, 0, 0);
+        int port = simulator.start(0);
+
+        MovieApiConfig config = new MovieApiConfig();
+        config.setBaseUrl("http://localhost:" + port);
+        config.setSearchPath("/search");
+        config.setMaxInMemorySize(DataSize.ofMegabytes(1));
+        config.setRetryMaxAttempts(1);
+        config.setRetryBackoff(Duration.ofMillis(10));
+        config.setProjectionFields(List.of("Director"));
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        WebClient webClient = WebClient.builder().baseUrl(config.getBaseUrl()).build();
+        service = new DirectorServiceImpl(new MovieRepositoryImpl(webClient, config, new CrawlMetrics(new SimpleMeterRegistry()),
+                new HedgePolicy(config, new SimpleMeterRegistry()), new RetryBudget(config, new SimpleMeterRegistry())), new DirectorMapper() {},
+                new DirectorCounter(), config, new CrawlMetrics(registry), new AdaptiveConcurrencyLimiter(config, registry));
+    }
+
+    @AfterEach
+    void teardown() {
+        simulator.stop();
+    }
+
+    @Test
+    @DisplayName("Should crawl the whole simulated catalog once and count every director")
+    void givenSimulatedCatalog_whenFindDirectors_thenMatchCatalogCounts() {
+        // Given
+        Map<String, Integer> expected = new TreeMap<>();
+        for (int movie = 0; movie < simulator.totalMovies(); movie++) {
+            expected.merge(simulator.directorOf(movie), 1, Integer::sum);
+        }
+        List<String> aboveTwo = expected.entrySet().stream()
+                .filter(e -> e.getValue() > 2)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        // When / Then
+        StepVerifier.create(service.findDirectorsAboveThreshold(2))
+                .expectNextMatches(res -> res.getDirectors().equals(aboveTwo))
+                .verifyComplete();
+
+        assertEquals(simulator.totalPages(), simulator.requestCount());
+    }
+}
@@ -0,0 +1,105 @@
+package domus.challenge.simulator;
+
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic movie catalog with a Zipf-skewed director distribution.
+ * Only one director index per movie is kept in memory; page bodies are rendered on demand.
+ */
+final class SyntheticCatalog {
+
+    private static final String[] RATINGS = {"G", "PG", "PG-13", "R", "NC-17", "Not Rated"};
+    private static final String[] GENRES = {"Action", "Drama", "Comedy", "Sci-Fi", "Horror", "Romance", "Thriller"};
+
+    private final int pages;
+    private final int perPage;
+    private final int total;
+    private final int[] directorOfMovie;
+
+    SyntheticCatalog(int pages, int perPage, int directors, double skew, long seed) {
+        this.pages = pages;
+        this.perPage = perPage;
+        this.total = pages * perPage;
+        this.directorOfMovie = new int[total];
+
+        double[] cumulative = zipfCumulative(directors, skew);
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < total; i++) {
+            directorOfMovie[i] = sample(cumulative, random.nextDouble());
+        }
+    }
+
+    int pages() {
+        return pages;
+    }
+
+    int total() {
+        return total;
+    }
+
+    String directorOf(int movie) {
+        return "Director " + directorOfMovie[movie];
+    }
+
+    byte[] page(int page) {
+        StringBuilder json = new StringBuilder(perPage * 300 + 128);
+        json.append("{\"page\":").append(page)
+                .append(",\"per_page\":").append(perPage)
+                .append(",\"total\":").append(total)
+                .append(",\"total_pages\":").append(pages)
+                .append(",\"data\":[");
+
+        if (page >= 1 && page <= pages) {
+            int first = (page - 1) * perPage;
+            for (int movie = first; movie < first + perPage; movie++) {
+                if (movie > first) json.append(',');
+                appendMovie(json, movie);
+            }
+        }
+
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void appendMovie(StringBuilder json, int movie) {
+        json.append("{\"Title\":\"Movie ").append(movie).append('"')
+                .append(",\"Year\":\"").append(1950 + movie % 75).append('"')
+                .append(",\"Rated\":\"").append(RATINGS[movie % RATINGS.length]).append('"')
+                .append(",\"Released\":\"01 Jan ").append(1950 + movie % 75).append('"')
+                .append(",\"Runtime\":\"").append(80 + movie % 100).append(" min\"")
+                .append(",\"Genre\":\"").append(GENRES[movie % GENRES.length]).append(", ")
+                .append(GENRES[(movie / 7) % GENRES.length]).append('"')
+                .append(",\"Director\":\"").append(directorOf(movie)).append('"')
+                .append(",\"Writer\":\"Writer ").append(movie % 997).append('"')
+                .append(",\"Actors\":\"Actor ").append(movie % 1999).append(", Actor ").append(movie % 2003).append('"')
+                .append('}');
+    }
+
+    private static double[] zipfCumulative(int n, double skew) {
+        double[] cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, skew);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, double u) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}